@@ -1,5 +1,6 @@
 package com.mycompany.myapp.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +14,84 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Chart chart = new Chart();
+
+    private final SummaryProjection summaryProjection = new SummaryProjection();
+
+    private final TransactionImport transactionImport = new TransactionImport();
+
+    private final TransactionExport transactionExport = new TransactionExport();
+
+    private final BudgetSpend budgetSpend = new BudgetSpend();
+
+    private final BudgetStatus budgetStatus = new BudgetStatus();
+
+    private final NotificationOutbox notificationOutbox = new NotificationOutbox();
+
+    private final NotificationStream notificationStream = new NotificationStream();
+
+    private final NotificationUnread notificationUnread = new NotificationUnread();
+
+    private final NotificationRetention notificationRetention = new NotificationRetention();
+
+    private final EventBalance eventBalance = new EventBalance();
+
+    private final BillBatch billBatch = new BillBatch();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Chart getChart() {
+        return chart;
+    }
+
+    public SummaryProjection getSummaryProjection() {
+        return summaryProjection;
+    }
+
+    public TransactionImport getTransactionImport() {
+        return transactionImport;
+    }
+
+    public TransactionExport getTransactionExport() {
+        return transactionExport;
+    }
+
+    public BudgetSpend getBudgetSpend() {
+        return budgetSpend;
+    }
+
+    public BudgetStatus getBudgetStatus() {
+        return budgetStatus;
+    }
+
+    public NotificationOutbox getNotificationOutbox() {
+        return notificationOutbox;
+    }
+
+    public NotificationStream getNotificationStream() {
+        return notificationStream;
+    }
+
+    public NotificationUnread getNotificationUnread() {
+        return notificationUnread;
+    }
+
+    public NotificationRetention getNotificationRetention() {
+        return notificationRetention;
+    }
+
+    public EventBalance getEventBalance() {
+        return eventBalance;
+    }
+
+    public BillBatch getBillBatch() {
+        return billBatch;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +106,498 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Chart {
+
+        /**
+         * Where the {@code /api/summaries/detailed} buckets are summed: "database" runs a GROUP BY
+         * query, "java" loads the transactions and aggregates them in memory.
+         */
+        private String aggregation = "database";
+
+        /**
+         * Run both aggregation paths and log a warning when they disagree.
+         */
+        private boolean verify = false;
+
+        public String getAggregation() {
+            return aggregation;
+        }
+
+        public void setAggregation(String aggregation) {
+            this.aggregation = aggregation;
+        }
+
+        public boolean isVerify() {
+            return verify;
+        }
+
+        public void setVerify(boolean verify) {
+            this.verify = verify;
+        }
+    }
+
+    public static class SummaryProjection {
+
+        /**
+         * "sync" updates summaries inside the transaction write, "async" publishes a
+         * TransactionChangedEvent after commit and lets the summary projector apply it.
+         */
+        private String mode = "sync";
+
+        /**
+         * Attempts to apply the summary changes of a user in async mode before they are dropped.
+         */
+        private int maxAttempts = 5;
+
+        public String getMode() {
+            return mode;
+        }
+
+        public void setMode(String mode) {
+            this.mode = mode;
+        }
+
+        public boolean isAsync() {
+            return "async".equalsIgnoreCase(mode);
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    public static class TransactionImport {
+
+        /**
+         * How XLSX statements are read: "streaming" walks the sheet XML with a SAX
+         * handler in bounded memory, "dom" loads the whole workbook with XSSFWorkbook.
+         */
+        private String xlsxReader = "streaming";
+
+        /**
+         * Rows handed from the parser to the writer, and inserted, per batch.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Parsed batches waiting for the writer; the parser blocks when the queue is full.
+         */
+        private int queueCapacity = 4;
+
+        /**
+         * Imports running at the same time, further jobs wait in line.
+         */
+        private int maxConcurrentJobs = 2;
+
+        /**
+         * Jobs waiting for a free slot; new imports are refused when the line is full.
+         */
+        private int jobQueueCapacity = 20;
+
+        /**
+         * Imports a user may have queued or running at the same time.
+         */
+        private int maxJobsPerUser = 2;
+
+        /**
+         * How long the status of a finished job stays available.
+         */
+        private Duration jobRetention = Duration.ofHours(1);
+
+        public String getXlsxReader() {
+            return xlsxReader;
+        }
+
+        public void setXlsxReader(String xlsxReader) {
+            this.xlsxReader = xlsxReader;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxConcurrentJobs() {
+            return maxConcurrentJobs;
+        }
+
+        public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+            this.maxConcurrentJobs = maxConcurrentJobs;
+        }
+
+        public int getJobQueueCapacity() {
+            return jobQueueCapacity;
+        }
+
+        public void setJobQueueCapacity(int jobQueueCapacity) {
+            this.jobQueueCapacity = jobQueueCapacity;
+        }
+
+        public int getMaxJobsPerUser() {
+            return maxJobsPerUser;
+        }
+
+        public void setMaxJobsPerUser(int maxJobsPerUser) {
+            this.maxJobsPerUser = maxJobsPerUser;
+        }
+
+        public Duration getJobRetention() {
+            return jobRetention;
+        }
+
+        public void setJobRetention(Duration jobRetention) {
+            this.jobRetention = jobRetention;
+        }
+    }
+
+    public static class TransactionExport {
+
+        /**
+         * How Excel exports are written: "streaming" keeps a sliding window of rows
+         * with SXSSFWorkbook, "dom" builds the whole workbook with XSSFWorkbook.
+         */
+        private String excelWriter = "streaming";
+
+        /**
+         * Rows kept in memory by the streaming writer, older rows are flushed to disk.
+         */
+        private int rowWindow = 100;
+
+        /**
+         * Time a streamed export or the download of an export file may take to reach
+         * the client, in place of the async request timeout of the container
+         * (30 seconds on Undertow).
+         */
+        private Duration requestTimeout = Duration.ofMinutes(30);
+
+        /**
+         * How PDF exports are written: "streaming" flushes the table to the response
+         * every {@link #pdfChunkRows} rows, "buffered" lays out the whole table first.
+         */
+        private String pdfWriter = "streaming";
+
+        /**
+         * Rows added to the PDF table between two flushes in streaming mode.
+         */
+        private int pdfChunkRows = 500;
+
+        /**
+         * Directory where background exports write their files, a folder of the
+         * system temp directory when empty.
+         */
+        private String spoolDir = "";
+
+        /**
+         * Background exports running at the same time.
+         */
+        private int maxConcurrentJobs = 2;
+
+        /**
+         * Background exports waiting for a free thread, further requests are refused.
+         */
+        private int queueCapacity = 20;
+
+        /**
+         * Background exports a user may have queued or running at the same time.
+         */
+        private int maxJobsPerUser = 2;
+
+        /**
+         * How long the file of a finished export stays available for download.
+         */
+        private Duration artifactTtl = Duration.ofHours(1);
+
+        public String getExcelWriter() {
+            return excelWriter;
+        }
+
+        public void setExcelWriter(String excelWriter) {
+            this.excelWriter = excelWriter;
+        }
+
+        public int getRowWindow() {
+            return rowWindow;
+        }
+
+        public void setRowWindow(int rowWindow) {
+            this.rowWindow = rowWindow;
+        }
+
+        public Duration getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+
+        public String getPdfWriter() {
+            return pdfWriter;
+        }
+
+        public void setPdfWriter(String pdfWriter) {
+            this.pdfWriter = pdfWriter;
+        }
+
+        public int getPdfChunkRows() {
+            return pdfChunkRows;
+        }
+
+        public void setPdfChunkRows(int pdfChunkRows) {
+            this.pdfChunkRows = pdfChunkRows;
+        }
+
+        public String getSpoolDir() {
+            return spoolDir;
+        }
+
+        public void setSpoolDir(String spoolDir) {
+            this.spoolDir = spoolDir;
+        }
+
+        public int getMaxConcurrentJobs() {
+            return maxConcurrentJobs;
+        }
+
+        public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+            this.maxConcurrentJobs = maxConcurrentJobs;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getMaxJobsPerUser() {
+            return maxJobsPerUser;
+        }
+
+        public void setMaxJobsPerUser(int maxJobsPerUser) {
+            this.maxJobsPerUser = maxJobsPerUser;
+        }
+
+        public Duration getArtifactTtl() {
+            return artifactTtl;
+        }
+
+        public void setArtifactTtl(Duration artifactTtl) {
+            this.artifactTtl = artifactTtl;
+        }
+    }
     // jhipster-needle-application-properties-property-class
+
+    public static class BudgetSpend {
+
+        /**
+         * When the running spend of the active budgets is reconciled.
+         */
+        private String reconcileCron = "0 15 * * * *";
+
+        /**
+         * Active budgets whose running spend is checked against the transactions
+         * with one query.
+         */
+        private int reconcileBatchSize = 500;
+
+        public String getReconcileCron() {
+            return reconcileCron;
+        }
+
+        public void setReconcileCron(String reconcileCron) {
+            this.reconcileCron = reconcileCron;
+        }
+
+        public int getReconcileBatchSize() {
+            return reconcileBatchSize;
+        }
+
+        public void setReconcileBatchSize(int reconcileBatchSize) {
+            this.reconcileBatchSize = reconcileBatchSize;
+        }
+    }
+
+    public static class BudgetStatus {
+
+        /**
+         * When the budgets whose window started or ended change status.
+         */
+        private String sweepCron = "0 * * * * *";
+
+        public String getSweepCron() {
+            return sweepCron;
+        }
+
+        public void setSweepCron(String sweepCron) {
+            this.sweepCron = sweepCron;
+        }
+    }
+
+    public static class NotificationOutbox {
+
+        /**
+         * Outbox entries rendered and inserted per dispatcher transaction.
+         */
+        private int batchSize = 200;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class NotificationStream {
+
+        /**
+         * How long a notification stream stays open before the client has to reconnect.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /**
+         * Streams a user may have open at the same time, the oldest one is closed first.
+         */
+        private int maxStreamsPerUser = 5;
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getMaxStreamsPerUser() {
+            return maxStreamsPerUser;
+        }
+
+        public void setMaxStreamsPerUser(int maxStreamsPerUser) {
+            this.maxStreamsPerUser = maxStreamsPerUser;
+        }
+    }
+
+    public static class NotificationUnread {
+
+        /**
+         * Users whose unread notification count is kept in memory, the least recently used are evicted first.
+         */
+        private int cacheSize = 10_000;
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+    }
+
+    public static class NotificationRetention {
+
+        /**
+         * When the old read notifications are pruned.
+         */
+        private String pruneCron = "0 30 3 * * *";
+
+        /**
+         * How long read notifications are kept after their creation.
+         */
+        private Duration keep = Duration.ofDays(90);
+
+        /**
+         * Notifications deleted per statement, each in its own transaction.
+         */
+        private int batchSize = 1000;
+
+        public String getPruneCron() {
+            return pruneCron;
+        }
+
+        public void setPruneCron(String pruneCron) {
+            this.pruneCron = pruneCron;
+        }
+
+        public Duration getKeep() {
+            return keep;
+        }
+
+        public void setKeep(Duration keep) {
+            this.keep = keep;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class EventBalance {
+
+        /**
+         * "incremental" applies the paid and should-pay changes of each bill or participant
+         * write to the stored balances, "full" recalculates all the balances of the event.
+         */
+        private String mode = "incremental";
+
+        /**
+         * After an incremental update, recalculate the balances of the event and log a
+         * warning when they disagree with the stored ones.
+         */
+        private boolean verify = false;
+
+        public String getMode() {
+            return mode;
+        }
+
+        public void setMode(String mode) {
+            this.mode = mode;
+        }
+
+        public boolean isVerify() {
+            return verify;
+        }
+
+        public void setVerify(boolean verify) {
+            this.verify = verify;
+        }
+    }
+
+    public static class BillBatch {
+
+        /**
+         * Most bills accepted by one batch request, larger requests are rejected.
+         */
+        private int maxBills = 500;
+
+        public int getMaxBills() {
+            return maxBills;
+        }
+
+        public void setMaxBills(int maxBills) {
+            this.maxBills = maxBills;
+        }
+    }
 }
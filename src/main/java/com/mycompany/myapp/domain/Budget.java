@@ -44,6 +44,17 @@ public class Budget implements Serializable {
     @Column(name = "status")
     private BudgeStatus status;
 
+    /**
+     * Running total of the transactions of the category inside the window. Only
+     * moved by relative updates of the repository, never by saving the entity.
+     */
+    @Column(name = "spent_amount", precision = 21, scale = 2, nullable = false, updatable = false)
+    private BigDecimal spentAmount = BigDecimal.ZERO;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.EAGER)
     private Category category;
 
@@ -143,6 +154,32 @@ public class Budget implements Serializable {
         this.status = status;
     }
 
+    public BigDecimal getSpentAmount() {
+        return this.spentAmount;
+    }
+
+    public Budget spentAmount(BigDecimal spentAmount) {
+        this.setSpentAmount(spentAmount);
+        return this;
+    }
+
+    public void setSpentAmount(BigDecimal spentAmount) {
+        this.spentAmount = spentAmount;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Budget version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Category getCategory() {
         return this.category;
     }
@@ -199,6 +236,8 @@ public class Budget implements Serializable {
             ", createdAt='" + getCreatedAt() + "'" +
             ", updatedAt='" + getUpdatedAt() + "'" +
             ", status='" + getStatus() + "'" +
+            ", spentAmount=" + getSpentAmount() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,21 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Bill;
+import com.mycompany.myapp.domain.BillParticipant;
+import java.util.List;
+
+/**
+ * Bulk write operations for the Bill entity, mixed into {@link BillRepository}.
+ */
+public interface BillBulkRepository {
+    /**
+     * Insert new bills and their participants with JDBC batches, bypassing the
+     * persistence context. The bills are inserted first and their generated ids
+     * are set on them; the ids of the participants are not read back.
+     *
+     * @param bills        the bills to insert, each with its event and payer set.
+     * @param participants the participants to insert, each with its member and one of the bills set.
+     * @return the number of inserted participants.
+     */
+    int insertAll(List<Bill> bills, List<BillParticipant> participants);
+}
@@ -0,0 +1,77 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Bill;
+import com.mycompany.myapp.domain.BillParticipant;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link BillBulkRepository}.
+ */
+class BillBulkRepositoryImpl implements BillBulkRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_BILL_SQL = "INSERT INTO bill (name, amount, created_at, event_id, payer_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PARTICIPANT_SQL = "INSERT INTO bill_participant (share_amount, bill_id, member_id) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    BillBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(List<Bill> bills, List<BillParticipant> participants) {
+        if (bills.isEmpty()) {
+            return 0;
+        }
+        // The participants need the ids of their bills, which batchUpdate does not read back
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_BILL_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < bills.size(); from += BATCH_SIZE) {
+                    List<Bill> chunk = bills.subList(from, Math.min(from + BATCH_SIZE, bills.size()));
+                    for (Bill bill : chunk) {
+                        ps.setString(1, bill.getName());
+                        ps.setBigDecimal(2, bill.getAmount());
+                        ps.setObject(3, toUtc(bill.getCreatedAt()));
+                        ps.setLong(4, bill.getEvent().getId());
+                        ps.setLong(5, bill.getPayer().getId());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (Bill bill : chunk) {
+                            if (!keys.next()) {
+                                throw new IncorrectResultSizeDataAccessException("Missing generated key of a bill", chunk.size());
+                            }
+                            bill.setId(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_PARTICIPANT_SQL, participants, BATCH_SIZE, (ps, participant) -> {
+            ps.setBigDecimal(1, participant.getShareAmount());
+            ps.setLong(2, participant.getBill().getId());
+            ps.setLong(3, participant.getMember().getId());
+        });
+        return participants.size();
+    }
+
+    // Same convention as hibernate.jdbc.time_zone=UTC: instants are stored as UTC wall-clock time.
+    private static LocalDateTime toUtc(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface BillRepository extends JpaRepository<Bill, Long>, JpaSpecificationExecutor<Bill> {
+public interface BillRepository extends JpaRepository<Bill, Long>, JpaSpecificationExecutor<Bill>, BillBulkRepository {
     @Query(
         """
             select b
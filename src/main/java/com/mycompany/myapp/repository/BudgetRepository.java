@@ -1,7 +1,10 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.enumeration.BudgeStatus;
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -41,4 +44,127 @@ public interface BudgetRepository extends JpaRepository<Budget, Long>, JpaSpecif
 
     @Query("SELECT b FROM Budget b WHERE b.user.id = :userId AND b.endDate >= :date")
     List<Budget> findByUserIdAndEndDateAfter(@Param("userId") Long userId, @Param("date") Instant date);
+
+    /**
+     * Move the budgets of the given statuses whose window ended to {@code status}.
+     *
+     * @return the number of budgets moved.
+     */
+    @Modifying
+    @Query("UPDATE Budget b SET b.status = :status WHERE b.status IN :fromStatuses AND b.endDate <= :now")
+    int updateStatusOfEnded(
+        @Param("fromStatuses") Collection<BudgeStatus> fromStatuses,
+        @Param("status") BudgeStatus status,
+        @Param("now") Instant now
+    );
+
+    /**
+     * Move the budgets of {@code fromStatus} whose window started and has not
+     * ended yet to {@code status}.
+     *
+     * @return the number of budgets moved.
+     */
+    @Modifying
+    @Query("UPDATE Budget b SET b.status = :status WHERE b.status = :fromStatus AND b.startDate <= :now AND b.endDate > :now")
+    int updateStatusOfStarted(@Param("fromStatus") BudgeStatus fromStatus, @Param("status") BudgeStatus status, @Param("now") Instant now);
+
+    /**
+     * Move the spend of the user's budgets of a category whose window covers the date.
+     *
+     * @param amount the signed amount of the transaction write.
+     * @return the number of budgets moved.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+        """
+        UPDATE Budget b SET b.spentAmount = b.spentAmount + :amount
+        WHERE b.user.id = :userId
+          AND b.category.id = :categoryId
+          AND :date BETWEEN b.startDate AND b.endDate
+        """
+    )
+    int addSpent(
+        @Param("userId") Long userId,
+        @Param("categoryId") Long categoryId,
+        @Param("date") Instant date,
+        @Param("amount") BigDecimal amount
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Budget b SET b.spentAmount = b.spentAmount + :amount WHERE b.id = :id")
+    int addSpentById(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Set the spend of a budget to the total of its window, after the window or
+     * the category changed.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(
+        """
+        UPDATE Budget b SET b.spentAmount = (
+            SELECT COALESCE(SUM(t.amount), 0)
+            FROM Transaction t
+            WHERE t.category.id = b.category.id
+              AND t.user.id = b.user.id
+              AND t.transactionDate BETWEEN b.startDate AND b.endDate
+        )
+        WHERE b.id = :id
+        """
+    )
+    int recomputeSpent(@Param("id") Long id);
+
+    @Query("SELECT b.spentAmount FROM Budget b WHERE b.id = :id")
+    Optional<BigDecimal> findSpentAmountById(@Param("id") Long id);
+
+    @Query(
+        """
+        SELECT b FROM Budget b
+        WHERE b.user.id = :userId
+          AND b.category.id IN :categoryIds
+          AND b.startDate <= :toDate
+          AND b.endDate >= :fromDate
+        """
+    )
+    List<Budget> findByUserIdAndCategoryIdsOverlapping(
+        @Param("userId") Long userId,
+        @Param("categoryIds") Collection<Long> categoryIds,
+        @Param("fromDate") Instant fromDate,
+        @Param("toDate") Instant toDate
+    );
+
+    @Query("SELECT b.id FROM Budget b WHERE b.status = :status AND b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsByStatusAfter(@Param("status") BudgeStatus status, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Sum the transactions of the category of each budget inside its window, the
+     * same total as {@link TransactionRepository#sumAmountByCategoryIdAndUserIdAndDateRange}
+     * for several budgets in one query, next to the stored running spend.
+     *
+     * @param budgetIds the ids of the budgets.
+     * @return one row per budget.
+     */
+    @Query(
+        """
+        SELECT b.id AS budgetId, b.spentAmount AS storedSpent, COALESCE(SUM(t.amount), 0) AS spent
+        FROM Budget b
+        LEFT JOIN Transaction t
+          ON t.category.id = b.category.id
+         AND t.user.id = b.user.id
+         AND t.transactionDate BETWEEN b.startDate AND b.endDate
+        WHERE b.id IN :budgetIds
+        GROUP BY b.id, b.spentAmount
+        """
+    )
+    List<BudgetSpend> sumSpentByBudgetIds(@Param("budgetIds") Collection<Long> budgetIds);
+
+    /**
+     * Projection of {@link #sumSpentByBudgetIds}.
+     */
+    interface BudgetSpend {
+        Long getBudgetId();
+
+        BigDecimal getStoredSpent();
+
+        BigDecimal getSpent();
+    }
 }
@@ -0,0 +1,68 @@
+package com.mycompany.myapp.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based balance writes for the EventBalance entity, mixed into {@link EventBalanceRepository}.
+ */
+public interface EventBalanceCounterRepository {
+    /**
+     * Add paid and should-pay deltas to the balances of an event with one batched
+     * {@code INSERT ... ON DUPLICATE KEY UPDATE} on (event_id, member_id), then
+     * remove the balances that dropped back to zero. The read and the write happen
+     * in the same statement, so concurrent writers on the same member cannot lose
+     * an update.
+     *
+     * @param eventId the id of the event.
+     * @param deltas the changes to apply.
+     */
+    void addToBalances(Long eventId, Collection<BalanceDelta> deltas);
+
+    /**
+     * Sum the paid and should-pay totals of every member of an event with one
+     * aggregate query over its bills and their participants. Members whose
+     * totals are both zero are left out.
+     *
+     * @param eventId the id of the event.
+     * @return the totals, by member id.
+     */
+    List<BalanceDelta> sumBalancesByEventId(Long eventId);
+
+    /**
+     * Insert the balances of an event with JDBC batches.
+     *
+     * @param eventId the id of the event, which must have no balance of these members yet.
+     * @param totals the totals of each member.
+     */
+    void insertBalances(Long eventId, Collection<BalanceDelta> totals);
+
+    /**
+     * Paid and should-pay change, or totals, of one member.
+     */
+    class BalanceDelta {
+
+        private final Long memberId;
+        private final BigDecimal paid;
+        private final BigDecimal shouldPay;
+
+        public BalanceDelta(Long memberId, BigDecimal paid, BigDecimal shouldPay) {
+            this.memberId = memberId;
+            this.paid = paid;
+            this.shouldPay = shouldPay;
+        }
+
+        public Long getMemberId() {
+            return memberId;
+        }
+
+        public BigDecimal getPaid() {
+            return paid;
+        }
+
+        public BigDecimal getShouldPay() {
+            return shouldPay;
+        }
+    }
+}
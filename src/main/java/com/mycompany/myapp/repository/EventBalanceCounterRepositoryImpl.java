@@ -0,0 +1,100 @@
+package com.mycompany.myapp.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link EventBalanceCounterRepository}.
+ */
+class EventBalanceCounterRepositoryImpl implements EventBalanceCounterRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL =
+        """
+        INSERT INTO event_balance (event_id, member_id, paid, should_pay, balance)
+        VALUES (?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            paid = paid + ?,
+            should_pay = should_pay + ?,
+            balance = balance + ?
+        """;
+
+    private static final String DELETE_EMPTY_SQL =
+        "DELETE FROM event_balance WHERE event_id = ? AND member_id = ? AND paid = 0 AND should_pay = 0";
+
+    // Each side is summed per member first, so the join of a bill with its participants never repeats its amount
+    private static final String SUM_BY_EVENT_SQL =
+        """
+        SELECT member_id, SUM(paid) AS paid, SUM(should_pay) AS should_pay
+        FROM (
+            SELECT b.payer_id AS member_id, SUM(b.amount) AS paid, 0 AS should_pay
+            FROM bill b
+            WHERE b.event_id = ? AND b.payer_id IS NOT NULL
+            GROUP BY b.payer_id
+            UNION ALL
+            SELECT bp.member_id, 0, SUM(bp.share_amount)
+            FROM bill_participant bp
+            JOIN bill b ON b.id = bp.bill_id
+            WHERE b.event_id = ? AND bp.member_id IS NOT NULL
+            GROUP BY bp.member_id
+        ) totals
+        GROUP BY member_id
+        HAVING SUM(paid) <> 0 OR SUM(should_pay) <> 0
+        ORDER BY member_id
+        """;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO event_balance (event_id, member_id, paid, should_pay, balance) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EventBalanceCounterRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addToBalances(Long eventId, Collection<BalanceDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> upserts = new ArrayList<>(deltas.size());
+        List<Object[]> keys = new ArrayList<>(deltas.size());
+        for (BalanceDelta delta : deltas) {
+            BigDecimal paid = delta.getPaid();
+            BigDecimal shouldPay = delta.getShouldPay();
+            BigDecimal balance = paid.subtract(shouldPay);
+            upserts.add(new Object[] { eventId, delta.getMemberId(), paid, shouldPay, balance, paid, shouldPay, balance });
+            keys.add(new Object[] { eventId, delta.getMemberId() });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+        jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, keys);
+    }
+
+    @Override
+    public List<BalanceDelta> sumBalancesByEventId(Long eventId) {
+        return jdbcTemplate.query(
+            SUM_BY_EVENT_SQL,
+            (rs, rowNum) -> new BalanceDelta(rs.getLong("member_id"), rs.getBigDecimal("paid"), rs.getBigDecimal("should_pay")),
+            eventId,
+            eventId
+        );
+    }
+
+    @Override
+    public void insertBalances(Long eventId, Collection<BalanceDelta> totals) {
+        if (totals.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, totals, BATCH_SIZE, (ps, total) -> {
+            ps.setLong(1, eventId);
+            ps.setLong(2, total.getMemberId());
+            ps.setBigDecimal(3, total.getPaid());
+            ps.setBigDecimal(4, total.getShouldPay());
+            ps.setBigDecimal(5, total.getPaid().subtract(total.getShouldPay()));
+        });
+    }
+}
@@ -1,6 +1,8 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.EventBalance;
+import java.math.BigDecimal;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,8 +12,29 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EventBalanceRepository extends JpaRepository<EventBalance, Long>, JpaSpecificationExecutor<EventBalance> {
+public interface EventBalanceRepository
+    extends JpaRepository<EventBalance, Long>, JpaSpecificationExecutor<EventBalance>, EventBalanceCounterRepository {
     @Modifying
     @Query("delete from EventBalance eb where eb.event.id = :eventId")
     void deleteByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * Stored totals of the balances of an event, read from the database rather
+     * than the persistence context.
+     */
+    @Query(
+        "select eb.member.id as memberId, eb.paid as paid, eb.shouldPay as shouldPay from EventBalance eb where eb.event.id = :eventId"
+    )
+    List<MemberTotals> findTotalsByEventId(@Param("eventId") Long eventId);
+
+    /**
+     * Paid and should-pay totals of one member in an event.
+     */
+    interface MemberTotals {
+        Long getMemberId();
+
+        BigDecimal getPaid();
+
+        BigDecimal getShouldPay();
+    }
 }
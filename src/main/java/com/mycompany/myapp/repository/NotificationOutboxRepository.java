@@ -0,0 +1,159 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Notification;
+import com.mycompany.myapp.domain.enumeration.NotificationType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outbox of notifications to render, mixed into {@link NotificationRepository}.
+ * <p>
+ * A budget check appends a compact entry in the transaction that wrote the
+ * transaction; the message is rendered and the notification inserted later, in
+ * batches, by the dispatcher.
+ */
+public interface NotificationOutboxRepository {
+    /**
+     * Append an entry to the outbox, in the running transaction.
+     */
+    void appendToOutbox(OutboxEntry entry);
+
+    /**
+     * Lock the oldest entries of the outbox, skipping the ones locked by another
+     * dispatcher. Must run in a transaction, which holds the locks.
+     *
+     * @param limit the maximum number of entries.
+     * @return the entries, oldest first.
+     */
+    List<OutboxEntry> lockOutboxBatch(int limit);
+
+    void deleteFromOutbox(Collection<Long> ids);
+
+    /**
+     * Insert new notifications with JDBC batches, bypassing the persistence
+     * context. The generated ids are not read back.
+     *
+     * @param notifications the notifications to insert, each with its user set.
+     * @return the number of inserted rows.
+     */
+    int insertAll(List<Notification> notifications);
+
+    /**
+     * What a notification is about, with the budget figures at the time of the check.
+     */
+    class OutboxEntry {
+
+        private Long id;
+        private Long userId;
+        private NotificationType notificationType;
+        private Long budgetId;
+        private Long categoryId;
+        private BigDecimal budgetAmount;
+        private BigDecimal spentAmount;
+        private Instant startDate;
+        private Instant endDate;
+        private Instant transactionDate;
+        private Instant createdAt;
+
+        public Long getId() {
+            return id;
+        }
+
+        public OutboxEntry id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public OutboxEntry userId(Long userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        public NotificationType getNotificationType() {
+            return notificationType;
+        }
+
+        public OutboxEntry notificationType(NotificationType notificationType) {
+            this.notificationType = notificationType;
+            return this;
+        }
+
+        public Long getBudgetId() {
+            return budgetId;
+        }
+
+        public OutboxEntry budgetId(Long budgetId) {
+            this.budgetId = budgetId;
+            return this;
+        }
+
+        public Long getCategoryId() {
+            return categoryId;
+        }
+
+        public OutboxEntry categoryId(Long categoryId) {
+            this.categoryId = categoryId;
+            return this;
+        }
+
+        public BigDecimal getBudgetAmount() {
+            return budgetAmount;
+        }
+
+        public OutboxEntry budgetAmount(BigDecimal budgetAmount) {
+            this.budgetAmount = budgetAmount;
+            return this;
+        }
+
+        public BigDecimal getSpentAmount() {
+            return spentAmount;
+        }
+
+        public OutboxEntry spentAmount(BigDecimal spentAmount) {
+            this.spentAmount = spentAmount;
+            return this;
+        }
+
+        public Instant getStartDate() {
+            return startDate;
+        }
+
+        public OutboxEntry startDate(Instant startDate) {
+            this.startDate = startDate;
+            return this;
+        }
+
+        public Instant getEndDate() {
+            return endDate;
+        }
+
+        public OutboxEntry endDate(Instant endDate) {
+            this.endDate = endDate;
+            return this;
+        }
+
+        public Instant getTransactionDate() {
+            return transactionDate;
+        }
+
+        public OutboxEntry transactionDate(Instant transactionDate) {
+            this.transactionDate = transactionDate;
+            return this;
+        }
+
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        public OutboxEntry createdAt(Instant createdAt) {
+            this.createdAt = createdAt;
+            return this;
+        }
+    }
+}
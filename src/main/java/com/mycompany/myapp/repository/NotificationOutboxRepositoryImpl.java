@@ -0,0 +1,121 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Notification;
+import com.mycompany.myapp.domain.enumeration.NotificationType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * JDBC implementation of {@link NotificationOutboxRepository}.
+ */
+class NotificationOutboxRepositoryImpl implements NotificationOutboxRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String APPEND_SQL =
+        """
+        INSERT INTO notification_outbox (user_id, notification_type, budget_id, category_id, budget_amount, spent_amount, start_date,
+            end_date, transaction_date, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String LOCK_BATCH_SQL =
+        """
+        SELECT id, user_id, notification_type, budget_id, category_id, budget_amount, spent_amount, start_date, end_date,
+            transaction_date, created_at
+        FROM notification_outbox
+        ORDER BY id
+        LIMIT ?
+        FOR UPDATE SKIP LOCKED
+        """;
+
+    private static final String DELETE_SQL = "DELETE FROM notification_outbox WHERE id IN (:ids)";
+
+    private static final String INSERT_NOTIFICATION_SQL =
+        "INSERT INTO notification (message, notification_type, is_read, created_at, user_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    NotificationOutboxRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public void appendToOutbox(OutboxEntry entry) {
+        jdbcTemplate.update(APPEND_SQL, ps -> {
+            ps.setLong(1, entry.getUserId());
+            ps.setString(2, entry.getNotificationType().name());
+            ps.setObject(3, entry.getBudgetId(), Types.BIGINT);
+            ps.setObject(4, entry.getCategoryId(), Types.BIGINT);
+            ps.setBigDecimal(5, entry.getBudgetAmount());
+            ps.setBigDecimal(6, entry.getSpentAmount());
+            ps.setObject(7, toUtc(entry.getStartDate()));
+            ps.setObject(8, toUtc(entry.getEndDate()));
+            ps.setObject(9, toUtc(entry.getTransactionDate()));
+            ps.setObject(10, toUtc(entry.getCreatedAt()));
+        });
+    }
+
+    @Override
+    public List<OutboxEntry> lockOutboxBatch(int limit) {
+        return jdbcTemplate.query(LOCK_BATCH_SQL, (rs, rowNum) -> toEntry(rs), limit);
+    }
+
+    @Override
+    public void deleteFromOutbox(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(DELETE_SQL, Collections.singletonMap("ids", ids));
+    }
+
+    @Override
+    public int insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, notifications, BATCH_SIZE, (ps, notification) -> {
+            ps.setString(1, notification.getMessage());
+            ps.setString(2, notification.getNotificationType().name());
+            ps.setObject(3, notification.getIsRead(), Types.BOOLEAN);
+            ps.setObject(4, toUtc(notification.getCreatedAt()));
+            ps.setLong(5, notification.getUser().getId());
+        });
+        return notifications.size();
+    }
+
+    private static OutboxEntry toEntry(ResultSet rs) throws SQLException {
+        return new OutboxEntry()
+            .id(rs.getLong("id"))
+            .userId(rs.getLong("user_id"))
+            .notificationType(NotificationType.valueOf(rs.getString("notification_type")))
+            .budgetId(rs.getObject("budget_id", Long.class))
+            .categoryId(rs.getObject("category_id", Long.class))
+            .budgetAmount(rs.getBigDecimal("budget_amount"))
+            .spentAmount(rs.getBigDecimal("spent_amount"))
+            .startDate(fromUtc(rs.getObject("start_date", LocalDateTime.class)))
+            .endDate(fromUtc(rs.getObject("end_date", LocalDateTime.class)))
+            .transactionDate(fromUtc(rs.getObject("transaction_date", LocalDateTime.class)))
+            .createdAt(fromUtc(rs.getObject("created_at", LocalDateTime.class)));
+    }
+
+    // Same convention as hibernate.jdbc.time_zone=UTC: instants are stored as UTC wall-clock time.
+    private static LocalDateTime toUtc(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+
+    private static Instant fromUtc(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toInstant(ZoneOffset.UTC) : null;
+    }
+}
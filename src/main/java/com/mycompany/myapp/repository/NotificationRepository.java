@@ -3,6 +3,7 @@ package com.mycompany.myapp.repository;
 import com.mycompany.myapp.domain.Budget;
 import com.mycompany.myapp.domain.Notification;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -15,7 +16,8 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the Notification entity.
  */
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long>, JpaSpecificationExecutor<Notification> {
+public interface NotificationRepository
+    extends JpaRepository<Notification, Long>, JpaSpecificationExecutor<Notification>, NotificationOutboxRepository {
     @Query("select notification from Notification notification where notification.user.login = ?#{authentication.name}")
     List<Notification> findByUserIsCurrentUser();
 
@@ -43,6 +45,47 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("select notification from Notification notification left join fetch notification.user where notification.id =:id")
     Optional<Notification> findOneWithToOneRelationships(@Param("id") Long id);
 
+    @Query("select count(n) from Notification n where n.user.id = :userId and (n.isRead = false or n.isRead is null)")
+    long countUnreadByUserId(@Param("userId") Long userId);
+
+    @Query("select n.user.id from Notification n where n.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    /**
+     * Mark all the unread notifications of a user as read.
+     *
+     * @return the number of notifications marked.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true where n.user.id = :userId and (n.isRead = false or n.isRead is null)")
+    int markAllReadByUserId(@Param("userId") Long userId);
+
+    /**
+     * Mark the given unread notifications of a user as read, ignoring the ones of other users.
+     *
+     * @return the number of notifications marked.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        """
+            UPDATE Notification n
+            SET n.isRead = true
+            WHERE n.user.id = :userId
+              AND n.id IN :ids
+              AND (n.isRead = false OR n.isRead IS NULL)
+        """
+    )
+    int markReadByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete up to {@code limit} read notifications created before the given instant.
+     *
+     * @return the number of deleted rows.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM notification WHERE is_read = true AND created_at < :before LIMIT :limit", nativeQuery = true)
+    int deleteReadCreatedBefore(@Param("before") Instant before, @Param("limit") int limit);
+
     @Query(
         """
             SELECT b
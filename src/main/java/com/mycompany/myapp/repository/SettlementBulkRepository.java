@@ -0,0 +1,18 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Settlement;
+import java.util.List;
+
+/**
+ * Bulk write operations for the Settlement entity, mixed into {@link SettlementRepository}.
+ */
+public interface SettlementBulkRepository {
+    /**
+     * Insert new settlements with JDBC batches, bypassing the persistence context.
+     * The generated ids are not read back.
+     *
+     * @param settlements the settlements to insert, each with its event and members set.
+     * @return the number of inserted rows.
+     */
+    int insertAll(List<Settlement> settlements);
+}
@@ -0,0 +1,35 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Settlement;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link SettlementBulkRepository}.
+ */
+class SettlementBulkRepositoryImpl implements SettlementBulkRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO settlement (amount, event_id, from_member_id, to_member_id) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SettlementBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(List<Settlement> settlements) {
+        if (settlements.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, settlements, BATCH_SIZE, (ps, settlement) -> {
+            ps.setBigDecimal(1, settlement.getAmount());
+            ps.setLong(2, settlement.getEvent().getId());
+            ps.setLong(3, settlement.getFromMember().getId());
+            ps.setLong(4, settlement.getToMember().getId());
+        });
+        return settlements.size();
+    }
+}
@@ -2,6 +2,7 @@ package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Settlement;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +10,9 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SettlementRepository extends JpaRepository<Settlement, Long>, JpaSpecificationExecutor<Settlement> {}
+public interface SettlementRepository
+    extends JpaRepository<Settlement, Long>, JpaSpecificationExecutor<Settlement>, SettlementBulkRepository {
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Settlement s where s.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
@@ -0,0 +1,55 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.enumeration.PeriodType;
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Atomic counter updates for the Summary entity, mixed into {@link SummaryRepository}.
+ */
+public interface SummaryCounterRepository {
+    /**
+     * Add income and expense deltas to the summaries of a user with one batched
+     * {@code INSERT ... ON DUPLICATE KEY UPDATE}, then remove the summaries that
+     * dropped back to zero. The read and the write happen in the same statement,
+     * so concurrent writers on the same period cannot lose an update.
+     *
+     * @param userId the id of the user.
+     * @param deltas the changes to apply.
+     */
+    void addToTotals(Long userId, Collection<CounterDelta> deltas);
+
+    /**
+     * Income and expense change of one (periodType, periodValue) summary.
+     */
+    class CounterDelta {
+
+        private final PeriodType periodType;
+        private final String periodValue;
+        private final BigDecimal income;
+        private final BigDecimal expense;
+
+        public CounterDelta(PeriodType periodType, String periodValue, BigDecimal income, BigDecimal expense) {
+            this.periodType = periodType;
+            this.periodValue = periodValue;
+            this.income = income;
+            this.expense = expense;
+        }
+
+        public PeriodType getPeriodType() {
+            return periodType;
+        }
+
+        public String getPeriodValue() {
+            return periodValue;
+        }
+
+        public BigDecimal getIncome() {
+            return income;
+        }
+
+        public BigDecimal getExpense() {
+            return expense;
+        }
+    }
+}
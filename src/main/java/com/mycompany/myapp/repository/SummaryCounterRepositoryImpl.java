@@ -0,0 +1,62 @@
+package com.mycompany.myapp.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of {@link SummaryCounterRepository}.
+ */
+class SummaryCounterRepositoryImpl implements SummaryCounterRepository {
+
+    private static final String UPSERT_SQL =
+        """
+        INSERT INTO summary (period_type, period_value, total_assets, total_income, total_expense, total_profit, profit_percentage,
+                             created_at, updated_at, user_id)
+        VALUES (?, ?, 0, GREATEST(?, 0), GREATEST(?, 0), 0, 0, UTC_TIMESTAMP(6), UTC_TIMESTAMP(6), ?)
+        ON DUPLICATE KEY UPDATE
+            total_income = GREATEST(COALESCE(total_income, 0) + ?, 0),
+            total_expense = GREATEST(COALESCE(total_expense, 0) + ?, 0),
+            updated_at = UTC_TIMESTAMP(6)
+        """;
+
+    private static final String DERIVE_SQL =
+        """
+        UPDATE summary
+        SET total_assets = total_income - total_expense,
+            total_profit = total_income - total_expense,
+            profit_percentage = CASE WHEN total_income <> 0 THEN ROUND((total_income - total_expense) / total_income, 2) * 100 ELSE 0 END
+        WHERE user_id = ? AND period_type = ? AND period_value = ?
+        """;
+
+    private static final String DELETE_EMPTY_SQL =
+        "DELETE FROM summary WHERE user_id = ? AND period_type = ? AND period_value = ? AND total_income = 0 AND total_expense = 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SummaryCounterRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addToTotals(Long userId, Collection<CounterDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> upserts = new ArrayList<>(deltas.size());
+        List<Object[]> keys = new ArrayList<>(deltas.size());
+        for (CounterDelta delta : deltas) {
+            String periodType = delta.getPeriodType().name();
+            BigDecimal income = delta.getIncome();
+            BigDecimal expense = delta.getExpense();
+            upserts.add(new Object[] { periodType, delta.getPeriodValue(), income, expense, userId, income, expense });
+            keys.add(new Object[] { userId, periodType, delta.getPeriodValue() });
+        }
+        // Totals are updated in place, then the derived columns are recomputed from the stored values.
+        jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+        jdbcTemplate.batchUpdate(DERIVE_SQL, keys);
+        jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, keys);
+    }
+}
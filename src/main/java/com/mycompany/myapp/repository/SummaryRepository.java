@@ -15,7 +15,7 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the Summary entity.
  */
 @Repository
-public interface SummaryRepository extends JpaRepository<Summary, Long>, JpaSpecificationExecutor<Summary> {
+public interface SummaryRepository extends JpaRepository<Summary, Long>, JpaSpecificationExecutor<Summary>, SummaryCounterRepository {
     @Query("select summary from Summary summary where summary.user.login = ?#{authentication.name}")
     List<Summary> findByUserIsCurrentUser();
 
@@ -1,7 +1,9 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.TeamMember;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +11,7 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TeamMemberRepository extends JpaRepository<TeamMember, Long>, JpaSpecificationExecutor<TeamMember> {}
+public interface TeamMemberRepository extends JpaRepository<TeamMember, Long>, JpaSpecificationExecutor<TeamMember> {
+    @Query("select tm.member.id from TeamMember tm where tm.team.id = :teamId")
+    List<Long> findMemberIdsByTeamId(@Param("teamId") Long teamId);
+}
@@ -0,0 +1,38 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Transaction;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Bulk write operations for the Transaction entity, mixed into {@link TransactionRepository}.
+ */
+public interface TransactionBulkRepository {
+    /**
+     * Insert new transactions with JDBC batches, bypassing the persistence context.
+     * <p>
+     * Hibernate cannot batch inserts of IDENTITY entities because it needs each
+     * generated id right away; plain JDBC batches have no such restriction. The
+     * generated ids are not read back.
+     *
+     * @param transactions the transactions to insert, each with its user set.
+     * @return the number of inserted rows.
+     */
+    int insertAll(List<Transaction> transactions);
+
+    /**
+     * Insert imported statement rows, each with its import fingerprint.
+     *
+     * @param transactions the transactions to insert, each with its user set.
+     * @param importFingerprints the fingerprint of each transaction, by position.
+     * @return the number of inserted rows.
+     */
+    int insertAll(List<Transaction> transactions, long[] importFingerprints);
+
+    /**
+     * Stream the import fingerprints of a user's transactions dated in
+     * {@code [from, to)}, with a single range query.
+     */
+    void forEachImportFingerprint(Long userId, Instant from, Instant to, LongConsumer consumer);
+}
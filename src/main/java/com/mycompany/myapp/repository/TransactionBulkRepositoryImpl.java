@@ -0,0 +1,84 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Transaction;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * JDBC implementation of {@link TransactionBulkRepository}.
+ */
+class TransactionBulkRepositoryImpl implements TransactionBulkRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+        """
+        INSERT INTO `transaction` (amount, transaction_type, description, transaction_date, created_at, updated_at, category_id, user_id,
+            import_fingerprint)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String FINGERPRINTS_SQL =
+        """
+        SELECT import_fingerprint FROM `transaction`
+        WHERE user_id = ? AND transaction_date >= ? AND transaction_date < ? AND import_fingerprint IS NOT NULL
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TransactionBulkRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(List<Transaction> transactions) {
+        return insertAll(transactions, null);
+    }
+
+    @Override
+    public int insertAll(List<Transaction> transactions, long[] importFingerprints) {
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        // Rows are addressed by position so that each one can be paired with its fingerprint
+        List<Integer> rows = IntStream.range(0, transactions.size()).boxed().toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            Transaction tx = transactions.get(row);
+            ps.setBigDecimal(1, tx.getAmount());
+            ps.setString(2, tx.getTransactionType().name());
+            ps.setString(3, tx.getDescription());
+            ps.setObject(4, toUtc(tx.getTransactionDate()));
+            ps.setObject(5, toUtc(tx.getCreatedAt()));
+            ps.setObject(6, toUtc(tx.getUpdatedAt()));
+            if (tx.getCategory() != null) {
+                ps.setLong(7, tx.getCategory().getId());
+            } else {
+                ps.setNull(7, Types.BIGINT);
+            }
+            ps.setLong(8, tx.getUser().getId());
+            if (importFingerprints != null) {
+                ps.setLong(9, importFingerprints[row]);
+            } else {
+                ps.setNull(9, Types.BIGINT);
+            }
+        });
+        return transactions.size();
+    }
+
+    @Override
+    public void forEachImportFingerprint(Long userId, Instant from, Instant to, LongConsumer consumer) {
+        jdbcTemplate.query(FINGERPRINTS_SQL, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1)), userId, toUtc(from), toUtc(to));
+    }
+
+    // Same convention as hibernate.jdbc.time_zone=UTC: instants are stored as UTC wall-clock time.
+    private static LocalDateTime toUtc(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC) : null;
+    }
+}
@@ -1,12 +1,17 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Transaction;
+import com.mycompany.myapp.domain.enumeration.TransactionType;
+import jakarta.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,7 +20,8 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the Transaction entity.
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
+public interface TransactionRepository
+    extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction>, TransactionBulkRepository {
     @Query("select transaction from Transaction transaction where transaction.user.login = ?#{authentication.name}")
     List<Transaction> findByUserIsCurrentUser();
 
@@ -43,9 +49,71 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
     @Query("select transaction from Transaction transaction left join fetch transaction.user where transaction.id =:id")
     Optional<Transaction> findOneWithToOneRelationships(@Param("id") Long id);
 
+    /**
+     * Stream a user's transactions for an export, ordered in SQL by {@code sort}.
+     * <p>
+     * A fetch size of {@link Integer#MIN_VALUE} makes MySQL Connector/J hand the
+     * rows over one by one instead of buffering the whole result. No other
+     * statement can run on the connection while the result is open, so the
+     * to-one relations are fetched in the same query. The stream must be
+     * consumed inside a transaction and closed.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    @Query(
+        "select transaction from Transaction transaction join fetch transaction.user left join fetch transaction.category " +
+        "where transaction.user.id = :userId " +
+        "and (:categoryId is null or transaction.category.id = :categoryId) " +
+        "and (:fromDate is null or transaction.transactionDate >= :fromDate) " +
+        "and (:toDate is null or transaction.transactionDate <= :toDate) " +
+        "and (:type is null or transaction.transactionType = :type)"
+    )
+    Stream<Transaction> streamForExport(
+        @Param("userId") Long userId,
+        @Param("categoryId") Long categoryId,
+        @Param("fromDate") Instant fromDate,
+        @Param("toDate") Instant toDate,
+        @Param("type") TransactionType type,
+        Sort sort
+    );
+
     // Thêm phương thức để tìm giao dịch theo userId và khoảng thời gian
     List<Transaction> findByUserIdAndTransactionDateBetween(Long userId, Instant startDate, Instant endDate);
 
+    /**
+     * Sum transaction amounts per bucket and type for the chart endpoint.
+     *
+     * @param userId the id of the user.
+     * @param startDate the start of the range (inclusive).
+     * @param endDate the end of the range (inclusive).
+     * @param zoneOffset the user's zone offset, e.g. {@code +07:00}.
+     * @param bucketFormat the MySQL date format of the bucket, {@code %Y-%m-%d} for days or {@code %Y-%m-01} for months.
+     * @return one row per bucket and transaction type.
+     */
+    @Query(
+        value = """
+        SELECT DATE_FORMAT(CONVERT_TZ(t.transaction_date, '+00:00', :zoneOffset), :bucketFormat) AS bucket,
+               t.transaction_type AS transactionType,
+               SUM(t.amount) AS total
+        FROM `transaction` t
+        WHERE t.user_id = :userId
+          AND t.transaction_date BETWEEN :startDate AND :endDate
+        GROUP BY bucket, t.transaction_type
+        """,
+        nativeQuery = true
+    )
+    List<BucketTotal> sumAmountByBucketAndType(
+        @Param("userId") Long userId,
+        @Param("startDate") Instant startDate,
+        @Param("endDate") Instant endDate,
+        @Param("zoneOffset") String zoneOffset,
+        @Param("bucketFormat") String bucketFormat
+    );
+
     /**
      * Get all transactions by userId.
      *
@@ -69,4 +137,15 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
         @Param("startDate") Instant startDate,
         @Param("endDate") Instant endDate
     );
+
+    /**
+     * Projection of {@link #sumAmountByBucketAndType}.
+     */
+    interface BucketTotal {
+        String getBucket();
+
+        String getTransactionType();
+
+        BigDecimal getTotal();
+    }
 }
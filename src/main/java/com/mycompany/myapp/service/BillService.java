@@ -1,6 +1,7 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Bill;
+import com.mycompany.myapp.service.dto.BillBatchDTO;
 import java.util.Optional;
 
 /**
@@ -45,4 +46,14 @@ public interface BillService {
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Create bills with their participants in the "eventId" event, and update the
+     * balances of the event once for all of them.
+     *
+     * @param eventId the id of the event.
+     * @param batch   the bills to create.
+     * @return the batch with the ids of the new bills, or empty if the event is not found.
+     */
+    Optional<BillBatchDTO> saveBatch(Long eventId, BillBatchDTO batch);
 }
@@ -0,0 +1,123 @@
+package com.mycompany.myapp.service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the amount of a bill into the shares of its participants.
+ * <p>
+ * Amounts are in cents ({@code long}) and the shares always sum to the amount
+ * exactly. Each participant first gets the rounded-down value of its exact
+ * share; the cents left over go one by one to the participants with the largest
+ * remainders, the first participants winning ties (largest-remainder method).
+ * A negative amount, such as a refund, is split like its opposite.
+ */
+public final class BillSplitter {
+
+    private BillSplitter() {}
+
+    /**
+     * Split an amount equally.
+     *
+     * @param totalCents the amount in cents.
+     * @param parts      the number of participants.
+     * @return the share of each participant in cents.
+     */
+    public static long[] equal(long totalCents, int parts) {
+        if (parts <= 0) {
+            throw new IllegalArgumentException("At least one participant is needed");
+        }
+        long[] weights = new long[parts];
+        Arrays.fill(weights, 1);
+        return weighted(totalCents, weights);
+    }
+
+    /**
+     * Split an amount in proportion to the weights of the participants.
+     *
+     * @param totalCents the amount in cents.
+     * @param weights    the weight of each participant, zero or more, with a positive sum.
+     * @return the share of each participant in cents, by position.
+     * @throws ArithmeticException if the amount times a weight overflows a {@code long}.
+     */
+    public static long[] weighted(long totalCents, long[] weights) {
+        long weightSum = 0;
+        for (long weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("A weight cannot be negative");
+            }
+            weightSum = Math.addExact(weightSum, weight);
+        }
+        if (weightSum == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        long amount = Math.absExact(totalCents);
+        long[] shares = new long[weights.length];
+        long[] remainders = new long[weights.length];
+        long left = amount;
+        for (int i = 0; i < weights.length; i++) {
+            long exact = Math.multiplyExact(amount, weights[i]);
+            shares[i] = exact / weightSum;
+            remainders[i] = exact % weightSum;
+            left -= shares[i];
+        }
+        // Fewer cents are left than participants with a remainder, so a zero weight never gets one
+        if (left > 0) {
+            Integer[] order = IntStream.range(0, weights.length).boxed().toArray(Integer[]::new);
+            // The sort is stable, ties stay in position order
+            Arrays.sort(order, Comparator.comparingLong((Integer i) -> remainders[i]).reversed());
+            for (int k = 0; k < left; k++) {
+                shares[order[k]]++;
+            }
+        }
+        if (totalCents < 0) {
+            for (int i = 0; i < shares.length; i++) {
+                shares[i] = -shares[i];
+            }
+        }
+        return shares;
+    }
+
+    /**
+     * Split an amount where some participants pay a fixed share; the participants
+     * without one split what is left equally. A fixed share has the sign of the
+     * amount and is not larger than it.
+     *
+     * @param totalCents the amount in cents.
+     * @param fixedCents the fixed share of each participant in cents, by position, {@code null} for the others.
+     * @return the share of each participant in cents, by position.
+     */
+    public static long[] fixed(long totalCents, Long[] fixedCents) {
+        long left = totalCents;
+        int others = 0;
+        for (Long cents : fixedCents) {
+            if (cents == null) {
+                others++;
+                continue;
+            }
+            // Otherwise a negative share would make the other participants owe more than the bill
+            if (cents != 0 && Long.signum(cents) != Long.signum(totalCents)) {
+                throw new IllegalArgumentException("A fixed share cannot have the opposite sign of the amount");
+            }
+            if (Math.abs(cents) > Math.abs(totalCents)) {
+                throw new IllegalArgumentException("A fixed share cannot exceed the amount");
+            }
+            left = Math.subtractExact(left, cents);
+        }
+        if (others == 0) {
+            if (left != 0) {
+                throw new IllegalArgumentException("The fixed shares do not add up to the amount");
+            }
+        } else if (Long.signum(left) * Long.signum(totalCents) < 0) {
+            throw new IllegalArgumentException("The fixed shares exceed the amount");
+        }
+
+        long[] rest = others > 0 ? equal(left, others) : new long[0];
+        long[] shares = new long[fixedCents.length];
+        for (int i = 0, k = 0; i < fixedCents.length; i++) {
+            shares[i] = fixedCents[i] != null ? fixedCents[i] : rest[k++];
+        }
+        return shares;
+    }
+}
@@ -0,0 +1,29 @@
+package com.mycompany.myapp.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between amounts and whole cents, for the code that sums or
+ * splits amounts as {@code long}s.
+ */
+public final class Cents {
+
+    private Cents() {}
+
+    /**
+     * The amount in cents, rounded half up past the second decimal.
+     *
+     * @throws ArithmeticException if the amount does not fit in a {@code long} of cents.
+     */
+    public static long fromAmount(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * The amount of a number of cents, with two decimals.
+     */
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,152 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Transaction;
+import com.mycompany.myapp.domain.enumeration.TransactionType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gom nhóm giao dịch vào các khoảng (bucket) của biểu đồ trong một lần duyệt.
+ * <p>
+ * Ranh giới của các bucket được tính trước thành mảng epoch second (theo múi giờ
+ * của người dùng), mỗi giao dịch được gán vào bucket bằng tìm kiếm nhị phân và
+ * cộng dồn vào mảng {@code long} tính theo đơn vị xu (cent).
+ */
+public final class ChartBucketAggregator {
+
+    public static final ZoneId VN_ZONE = ZoneId.of("Asia/Ho_Chi_Minh");
+
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("dd/MM");
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final int MONTH_RANGE_DAYS = 5;
+
+    private final List<String> labels;
+    private final long[] boundaries;
+    private final long[] incomeCents;
+    private final long[] expenseCents;
+
+    private ChartBucketAggregator(List<String> labels, long[] boundaries) {
+        this.labels = labels;
+        this.boundaries = boundaries;
+        this.incomeCents = new long[labels.size()];
+        this.expenseCents = new long[labels.size()];
+    }
+
+    /**
+     * Tạo bộ gom nhóm cho kỳ WEEK (theo ngày), MONTH (theo khoảng 5 ngày) hoặc
+     * YEAR (theo tháng).
+     *
+     * @param period    Loại kỳ (WEEK, MONTH, YEAR)
+     * @param startDate Ngày bắt đầu kỳ
+     * @param endDate   Ngày kết thúc kỳ (bao gồm)
+     * @param zone      Múi giờ dùng để xác định ngày của giao dịch
+     */
+    public static ChartBucketAggregator forPeriod(String period, LocalDate startDate, LocalDate endDate, ZoneId zone) {
+        List<String> labels = new ArrayList<>();
+        List<LocalDate> starts = new ArrayList<>();
+        switch (period.toUpperCase()) {
+            case "WEEK":
+                for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                    starts.add(date);
+                    labels.add(date.format(DAY_LABEL));
+                }
+                break;
+            case "MONTH":
+                int daysInMonth = endDate.getDayOfMonth();
+                for (int i = 1; i <= daysInMonth; i += MONTH_RANGE_DAYS) {
+                    LocalDate startRange = startDate.withDayOfMonth(i);
+                    LocalDate endRange = startDate.withDayOfMonth(Math.min(i + MONTH_RANGE_DAYS - 1, daysInMonth));
+                    starts.add(startRange);
+                    labels.add(startRange.format(DAY_LABEL) + "-" + endRange.format(DAY_LABEL));
+                }
+                break;
+            case "YEAR":
+                for (LocalDate month = startDate.withDayOfMonth(1); !month.isAfter(endDate); month = month.plusMonths(1)) {
+                    starts.add(month);
+                    labels.add(month.format(MONTH_LABEL));
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid period: " + period);
+        }
+
+        long[] boundaries = new long[starts.size() + 1];
+        for (int i = 0; i < starts.size(); i++) {
+            boundaries[i] = starts.get(i).atStartOfDay(zone).toEpochSecond();
+        }
+        boundaries[starts.size()] = endDate.plusDays(1).atStartOfDay(zone).toEpochSecond();
+        return new ChartBucketAggregator(labels, boundaries);
+    }
+
+    /**
+     * Trả về chỉ số bucket chứa thời điểm đã cho, hoặc -1 nếu nằm ngoài kỳ.
+     */
+    public int bucketOf(Instant instant) {
+        int pos = Arrays.binarySearch(boundaries, instant.getEpochSecond());
+        int index = pos >= 0 ? pos : -pos - 2;
+        return index < labels.size() ? index : -1;
+    }
+
+    public void add(Instant transactionDate, TransactionType transactionType, BigDecimal amount) {
+        if (transactionDate == null || amount == null) {
+            return;
+        }
+        int index = bucketOf(transactionDate);
+        if (index < 0) {
+            return;
+        }
+        if (transactionType == TransactionType.INCOME) {
+            incomeCents[index] += Cents.fromAmount(amount);
+        } else if (transactionType == TransactionType.EXPENSE) {
+            expenseCents[index] += Cents.fromAmount(amount);
+        }
+    }
+
+    public void addAll(Iterable<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            add(transaction.getTransactionDate(), transaction.getTransactionType(), transaction.getAmount());
+        }
+    }
+
+    public int size() {
+        return labels.size();
+    }
+
+    public long lowerBound() {
+        return boundaries[0];
+    }
+
+    public long upperBound() {
+        return boundaries[boundaries.length - 1];
+    }
+
+    /**
+     * Chuyển kết quả thành dữ liệu biểu đồ (labels, incomeData, expenseData,
+     * progressRateData).
+     */
+    public Map<String, Object> toChartData() {
+        List<BigDecimal> incomeData = new ArrayList<>(labels.size());
+        List<BigDecimal> expenseData = new ArrayList<>(labels.size());
+        List<BigDecimal> progressRateData = new ArrayList<>(labels.size());
+        for (int i = 0; i < labels.size(); i++) {
+            incomeData.add(Cents.toAmount(incomeCents[i]));
+            expenseData.add(Cents.toAmount(expenseCents[i]));
+            progressRateData.add(Cents.toAmount(incomeCents[i] - expenseCents[i]));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("labels", new ArrayList<>(labels));
+        result.put("incomeData", incomeData);
+        result.put("expenseData", expenseData);
+        result.put("progressRateData", progressRateData);
+        return result;
+    }
+}
@@ -0,0 +1,168 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Bill;
+import com.mycompany.myapp.domain.BillParticipant;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory accumulator of the paid and should-pay changes caused by one or more
+ * bill or participant writes, per (event, member). Changes that cancel out are
+ * dropped, so only the balances that actually move are kept.
+ */
+public class EventBalanceDeltas {
+
+    private final Map<Key, Delta> deltas = new LinkedHashMap<>();
+
+    /**
+     * Add the amount of a bill to the paid of its payer.
+     *
+     * @param bill the bill, with its event and payer set.
+     * @param add {@code true} to add the amount, {@code false} to subtract it.
+     * @return this accumulator.
+     */
+    public EventBalanceDeltas addBill(Bill bill, boolean add) {
+        if (bill == null || bill.getEvent() == null || bill.getPayer() == null || bill.getAmount() == null) {
+            return this;
+        }
+        return addPaid(bill.getEvent().getId(), bill.getPayer().getId(), signed(bill.getAmount(), add));
+    }
+
+    /**
+     * Add the share of a participant to the should-pay of its member.
+     *
+     * @param participant the participant, with its bill and the bill's event set.
+     * @param add {@code true} to add the share, {@code false} to subtract it.
+     * @return this accumulator.
+     */
+    public EventBalanceDeltas addParticipant(BillParticipant participant, boolean add) {
+        if (
+            participant == null ||
+            participant.getBill() == null ||
+            participant.getBill().getEvent() == null ||
+            participant.getMember() == null ||
+            participant.getShareAmount() == null
+        ) {
+            return this;
+        }
+        Long eventId = participant.getBill().getEvent().getId();
+        return addShouldPay(eventId, participant.getMember().getId(), signed(participant.getShareAmount(), add));
+    }
+
+    /**
+     * Add all changes of another accumulator to this one.
+     */
+    public EventBalanceDeltas addAll(EventBalanceDeltas other) {
+        other.deltas.forEach((key, delta) -> add(key, delta.paid, delta.shouldPay));
+        return this;
+    }
+
+    public EventBalanceDeltas addPaid(Long eventId, Long memberId, BigDecimal amount) {
+        return add(new Key(eventId, memberId), amount, BigDecimal.ZERO);
+    }
+
+    public EventBalanceDeltas addShouldPay(Long eventId, Long memberId, BigDecimal amount) {
+        return add(new Key(eventId, memberId), BigDecimal.ZERO, amount);
+    }
+
+    private EventBalanceDeltas add(Key key, BigDecimal paid, BigDecimal shouldPay) {
+        Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+        delta.paid = delta.paid.add(paid);
+        delta.shouldPay = delta.shouldPay.add(shouldPay);
+        if (delta.isZero()) {
+            deltas.remove(key);
+        }
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    public Set<Long> eventIds() {
+        return deltas.keySet().stream().map(Key::getEventId).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    public Map<Key, Delta> asMap() {
+        return deltas;
+    }
+
+    private static BigDecimal signed(BigDecimal amount, boolean add) {
+        return add ? amount : amount.negate();
+    }
+
+    /**
+     * An (event, member) pair.
+     */
+    public static final class Key {
+
+        private final Long eventId;
+        private final Long memberId;
+
+        public Key(Long eventId, Long memberId) {
+            this.eventId = eventId;
+            this.memberId = memberId;
+        }
+
+        public Long getEventId() {
+            return eventId;
+        }
+
+        public Long getMemberId() {
+            return memberId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return eventId.equals(key.eventId) && memberId.equals(key.memberId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventId, memberId);
+        }
+
+        @Override
+        public String toString() {
+            return eventId + ":" + memberId;
+        }
+    }
+
+    /**
+     * Net paid and should-pay change of one member in one event.
+     */
+    public static final class Delta {
+
+        private BigDecimal paid = BigDecimal.ZERO;
+        private BigDecimal shouldPay = BigDecimal.ZERO;
+
+        public BigDecimal getPaid() {
+            return paid;
+        }
+
+        public BigDecimal getShouldPay() {
+            return shouldPay;
+        }
+
+        boolean isZero() {
+            return paid.signum() == 0 && shouldPay.signum() == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Delta{paid=" + paid + ", shouldPay=" + shouldPay + "}";
+        }
+    }
+}
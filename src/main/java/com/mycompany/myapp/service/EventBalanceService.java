@@ -47,10 +47,20 @@ public interface EventBalanceService {
      */
     void delete(Long id);
 
+    /**
+     * Apply the paid and should-pay changes of bill or participant writes to the
+     * balances of their events: added to the stored balances in "incremental" mode,
+     * or by recalculating each event in "full" mode.
+     *
+     * @param deltas the changes to apply.
+     */
+    void applyChanges(EventBalanceDeltas deltas);
+
     /**
      * Recalculate balances and settlements for an event.
      *
      * @param eventId the event id
+     * @return {@code false} if the event does not exist.
      */
-    void recalculateByEvent(Long eventId);
+    boolean recalculateByEvent(Long eventId);
 }
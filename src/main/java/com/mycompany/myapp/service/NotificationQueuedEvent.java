@@ -0,0 +1,26 @@
+package com.mycompany.myapp.service;
+
+/**
+ * Published when a notification of a user is appended to the outbox, so that
+ * the dispatcher renders it once the transaction commits.
+ */
+public class NotificationQueuedEvent {
+
+    private final Long userId;
+
+    public NotificationQueuedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "NotificationQueuedEvent{" +
+            "userId=" + userId +
+            "}";
+    }
+}
@@ -2,9 +2,11 @@ package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Notification;
 import com.mycompany.myapp.domain.Transaction;
+import java.util.Collection;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * Service Interface for managing
@@ -58,6 +60,49 @@ public interface NotificationService {
      */
     void delete(Long id);
 
+    /**
+     * Count the unread notifications of a user.
+     *
+     * @param userId the ID of the user.
+     * @return the number of unread notifications.
+     */
+    long countUnread(Long userId);
+
+    /**
+     * Mark notifications of a user as read with a single update.
+     *
+     * @param userId the ID of the user.
+     * @param ids    the notifications to mark, at least one.
+     * @return the number of notifications marked.
+     */
+    int markRead(Long userId, Collection<Long> ids);
+
+    /**
+     * Mark all the unread notifications of a user as read with a single update.
+     *
+     * @param userId the ID of the user.
+     * @return the number of notifications marked.
+     */
+    int markAllRead(Long userId);
+
+    /**
+     * Open a stream of the new notifications of a user, as Server-Sent Events.
+     *
+     * @param userId the ID of the user.
+     * @return the emitter of the stream.
+     */
+    SseEmitter subscribe(Long userId);
+
+    /**
+     * Checks a transaction against the active budgets it matches, loading them and
+     * their spend once: creates the completion or overrun notification of a budget
+     * it reaches, or the warning of a budget it brings to 85%.
+     *
+     * @param userId      The ID of the user.
+     * @param transaction The transaction to check.
+     */
+    void evaluateBudgetsForTransaction(Long userId, Transaction transaction);
+
     /**
      * Creates a notification for a transaction if it matches active budgets and
      * exceeds/completes the budget.
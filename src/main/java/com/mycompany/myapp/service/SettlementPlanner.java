@@ -0,0 +1,171 @@
+package com.mycompany.myapp.service;
+
+/**
+ * Works out who pays whom to settle the balances of an event.
+ * <p>
+ * Balances are in cents ({@code long}), positive for the members who are owed
+ * money and negative for the ones who owe it. Creditors and debtors are kept in
+ * two max-heaps by amount; the largest debtor pays the largest creditor the
+ * smaller of the two amounts, which settles at least one of them, and whoever
+ * is left with an amount goes back to its heap. A group of n members is settled
+ * with at most n - 1 transfers in O(n log n), with no allocation per transfer.
+ * <p>
+ * When the balances do not sum to zero, what cannot be matched is left over as
+ * {@link #getUnsettledCents()}.
+ */
+public final class SettlementPlanner {
+
+    private final long[] fromMemberIds;
+    private final long[] toMemberIds;
+    private final long[] amountCents;
+    private final int size;
+    private final long unsettledCents;
+
+    private SettlementPlanner(long[] fromMemberIds, long[] toMemberIds, long[] amountCents, int size, long unsettledCents) {
+        this.fromMemberIds = fromMemberIds;
+        this.toMemberIds = toMemberIds;
+        this.amountCents = amountCents;
+        this.size = size;
+        this.unsettledCents = unsettledCents;
+    }
+
+    /**
+     * Plan the transfers that settle the given balances.
+     *
+     * @param memberIds    the id of each member.
+     * @param balanceCents the balance of each member in cents, by position.
+     * @return the plan.
+     */
+    public static SettlementPlanner plan(long[] memberIds, long[] balanceCents) {
+        if (memberIds.length != balanceCents.length) {
+            throw new IllegalArgumentException("One balance is needed per member");
+        }
+        int n = memberIds.length;
+        long[] remaining = new long[n];
+        IndexHeap creditors = new IndexHeap(remaining, n);
+        IndexHeap debtors = new IndexHeap(remaining, n);
+        for (int i = 0; i < n; i++) {
+            if (balanceCents[i] > 0) {
+                remaining[i] = balanceCents[i];
+                creditors.push(i);
+            } else if (balanceCents[i] < 0) {
+                remaining[i] = Math.negateExact(balanceCents[i]);
+                debtors.push(i);
+            }
+        }
+
+        // Every transfer settles a creditor or a debtor, and the last one left needs none
+        int capacity = Math.max(0, creditors.size() + debtors.size() - 1);
+        long[] from = new long[capacity];
+        long[] to = new long[capacity];
+        long[] amounts = new long[capacity];
+        int size = 0;
+        while (!creditors.isEmpty() && !debtors.isEmpty()) {
+            int creditor = creditors.pop();
+            int debtor = debtors.pop();
+            long amount = Math.min(remaining[creditor], remaining[debtor]);
+            from[size] = memberIds[debtor];
+            to[size] = memberIds[creditor];
+            amounts[size] = amount;
+            size++;
+            remaining[creditor] -= amount;
+            remaining[debtor] -= amount;
+            if (remaining[creditor] > 0) {
+                creditors.push(creditor);
+            }
+            if (remaining[debtor] > 0) {
+                debtors.push(debtor);
+            }
+        }
+
+        long unsettled = 0;
+        for (long amount : remaining) {
+            unsettled += amount;
+        }
+        return new SettlementPlanner(from, to, amounts, size, unsettled);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getFromMemberId(int index) {
+        return fromMemberIds[index];
+    }
+
+    public long getToMemberId(int index) {
+        return toMemberIds[index];
+    }
+
+    public long getAmountCents(int index) {
+        return amountCents[index];
+    }
+
+    /**
+     * What is left once every creditor or every debtor is settled, in cents;
+     * zero when the balances sum to zero.
+     */
+    public long getUnsettledCents() {
+        return unsettledCents;
+    }
+
+    /**
+     * Binary max-heap of member positions, ordered by their remaining amount.
+     */
+    private static final class IndexHeap {
+
+        private final long[] keys;
+        private final int[] heap;
+        private int size;
+
+        IndexHeap(long[] keys, int capacity) {
+            this.keys = keys;
+            this.heap = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void push(int index) {
+            int child = size++;
+            while (child > 0) {
+                int parent = (child - 1) >>> 1;
+                if (keys[heap[parent]] >= keys[index]) {
+                    break;
+                }
+                heap[child] = heap[parent];
+                child = parent;
+            }
+            heap[child] = index;
+        }
+
+        int pop() {
+            int top = heap[0];
+            int last = heap[--size];
+            int parent = 0;
+            while (true) {
+                int child = 2 * parent + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[heap[child + 1]] > keys[heap[child]]) {
+                    child++;
+                }
+                if (keys[heap[child]] <= keys[last]) {
+                    break;
+                }
+                heap[parent] = heap[child];
+                parent = child;
+            }
+            if (size > 0) {
+                heap[parent] = last;
+            }
+            return top;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Settlement;
+import com.mycompany.myapp.service.dto.SettlementPlanDTO;
 import java.util.Optional;
 
 /**
@@ -45,4 +46,14 @@ public interface SettlementService {
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Plan the transfers that settle the balances of an event, from the members
+     * who owe money to the ones who are owed.
+     *
+     * @param eventId the id of the event.
+     * @param persist whether to replace the settlements of the event with the plan.
+     * @return the plan, or empty if the event does not exist.
+     */
+    Optional<SettlementPlanDTO> planForEvent(Long eventId, boolean persist);
 }
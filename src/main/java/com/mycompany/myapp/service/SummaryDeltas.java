@@ -0,0 +1,174 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Transaction;
+import com.mycompany.myapp.domain.enumeration.PeriodType;
+import com.mycompany.myapp.domain.enumeration.TransactionType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.WeekFields;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory accumulator of the WEEK/MONTH/YEAR income and expense changes caused
+ * by one or more transaction writes. Changes that land on the same period are
+ * netted out, so only the periods whose totals actually move are kept.
+ */
+public class SummaryDeltas {
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final Map<Key, Delta> deltas = new LinkedHashMap<>();
+
+    /**
+     * Add the contribution of a transaction to every period it belongs to.
+     *
+     * @param transaction the transaction.
+     * @param add {@code true} to add the amount, {@code false} to subtract it.
+     * @return this accumulator.
+     */
+    public SummaryDeltas add(Transaction transaction, boolean add) {
+        if (transaction == null || transaction.getAmount() == null || transaction.getTransactionDate() == null) {
+            return this;
+        }
+        LocalDate date = transaction.getTransactionDate().atZone(ZoneId.systemDefault()).toLocalDate();
+        BigDecimal amount = add ? transaction.getAmount() : transaction.getAmount().negate();
+        for (PeriodType periodType : PeriodType.values()) {
+            add(new Key(periodType, periodValue(date, periodType)), transaction.getTransactionType(), amount);
+        }
+        return this;
+    }
+
+    public SummaryDeltas add(Key key, TransactionType transactionType, BigDecimal amount) {
+        Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+        if (transactionType == TransactionType.INCOME) {
+            delta.income = delta.income.add(amount);
+        } else if (transactionType == TransactionType.EXPENSE) {
+            delta.expense = delta.expense.add(amount);
+        }
+        if (delta.isZero()) {
+            deltas.remove(key);
+        }
+        return this;
+    }
+
+    /**
+     * Merge all changes of another accumulator into this one.
+     */
+    public SummaryDeltas addAll(SummaryDeltas other) {
+        other.deltas.forEach((key, delta) -> {
+            add(key, TransactionType.INCOME, delta.income);
+            add(key, TransactionType.EXPENSE, delta.expense);
+        });
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    public int size() {
+        return deltas.size();
+    }
+
+    public Set<Key> keys() {
+        return deltas.keySet();
+    }
+
+    public Collection<String> periodValues() {
+        return deltas.keySet().stream().map(Key::getPeriodValue).distinct().toList();
+    }
+
+    public Map<Key, Delta> asMap() {
+        return deltas;
+    }
+
+    public static String periodValue(LocalDate date, PeriodType periodType) {
+        switch (periodType) {
+            case WEEK:
+                int weekOfYear = date.get(WeekFields.ISO.weekOfWeekBasedYear());
+                return date.getYear() + "-" + String.format("%02d", weekOfYear);
+            case MONTH:
+                return date.format(MONTH_FORMAT);
+            case YEAR:
+                return String.valueOf(date.getYear());
+            default:
+                throw new IllegalArgumentException("Invalid period type: " + periodType);
+        }
+    }
+
+    /**
+     * A (periodType, periodValue) pair.
+     */
+    public static final class Key {
+
+        private final PeriodType periodType;
+        private final String periodValue;
+
+        public Key(PeriodType periodType, String periodValue) {
+            this.periodType = periodType;
+            this.periodValue = periodValue;
+        }
+
+        public PeriodType getPeriodType() {
+            return periodType;
+        }
+
+        public String getPeriodValue() {
+            return periodValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return periodType == key.periodType && periodValue.equals(key.periodValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(periodType, periodValue);
+        }
+
+        @Override
+        public String toString() {
+            return periodType + ":" + periodValue;
+        }
+    }
+
+    /**
+     * Net income and expense change of one period.
+     */
+    public static final class Delta {
+
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expense = BigDecimal.ZERO;
+
+        public BigDecimal getIncome() {
+            return income;
+        }
+
+        public BigDecimal getExpense() {
+            return expense;
+        }
+
+        boolean isZero() {
+            return income.signum() == 0 && expense.signum() == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Delta{income=" + income + ", expense=" + expense + "}";
+        }
+    }
+}
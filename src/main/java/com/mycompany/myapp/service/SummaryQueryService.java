@@ -1,10 +1,12 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.*; // for static metamodels
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.enumeration.PeriodType;
 import com.mycompany.myapp.domain.enumeration.TransactionType;
 import com.mycompany.myapp.repository.SummaryRepository;
 import com.mycompany.myapp.repository.TransactionRepository;
+import com.mycompany.myapp.repository.TransactionRepository.BucketTotal;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.service.criteria.SummaryCriteria;
 import jakarta.persistence.EntityManager;
@@ -17,17 +19,17 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.WeekFields;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.service.QueryService;
 
@@ -48,6 +50,7 @@ public class SummaryQueryService extends QueryService<Summary> {
     private final SummaryRepository summaryRepository;
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
+    private final ApplicationProperties applicationProperties;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -55,11 +58,13 @@ public class SummaryQueryService extends QueryService<Summary> {
     public SummaryQueryService(
         SummaryRepository summaryRepository,
         UserRepository userRepository,
-        TransactionRepository transactionRepository
+        TransactionRepository transactionRepository,
+        ApplicationProperties applicationProperties
     ) {
         this.summaryRepository = summaryRepository;
         this.userRepository = userRepository;
         this.transactionRepository = transactionRepository;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -71,6 +76,9 @@ public class SummaryQueryService extends QueryService<Summary> {
      * @return Map chứa nhãn (labels) và dữ liệu (incomeData, expenseData,
      *         progressRateData)
      */
+    // Không mở transaction bao ngoài: lỗi của truy vấn GROUP BY không được đánh dấu
+    // rollback-only khi chuyển sang nhánh Java.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Map<String, Object> getDetailedFinancialData(Long userId, String period) {
         LocalDate now = LocalDate.now(ZoneId.of("UTC"));
         LocalDate startDate;
@@ -96,145 +104,106 @@ public class SummaryQueryService extends QueryService<Summary> {
         Instant startInstant = startDate.atStartOfDay(ZoneId.of("UTC")).toInstant();
         Instant endInstant = endDate.atTime(23, 59, 59).atZone(ZoneId.of("UTC")).toInstant();
 
-        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(userId, startInstant, endInstant);
-        LOG.info(
-            "Transactions found for userId: {}, period: {}, from: {}, to: {}, count: {}",
-            userId,
-            period,
-            startInstant,
-            endInstant,
-            transactions.size()
-        );
-
-        List<String> labels = new ArrayList<>();
-        List<BigDecimal> incomeData = new ArrayList<>();
-        List<BigDecimal> expenseData = new ArrayList<>();
-        List<BigDecimal> progressRateData = new ArrayList<>();
-
-        if (period.equalsIgnoreCase("WEEK")) {
-            processWeeklyData(startDate, transactions, labels, incomeData, expenseData, progressRateData);
-        } else if (period.equalsIgnoreCase("MONTH")) {
-            processMonthlyData(startDate, endDate, transactions, labels, incomeData, expenseData, progressRateData);
-        } else if (period.equalsIgnoreCase("YEAR")) {
-            processYearlyData(startDate, endDate, transactions, labels, incomeData, expenseData, progressRateData);
+        ApplicationProperties.Chart chart = applicationProperties.getChart();
+        Map<String, Object> result;
+        if ("java".equalsIgnoreCase(chart.getAggregation())) {
+            result = aggregateInMemory(userId, period, startDate, endDate, startInstant, endInstant);
+        } else {
+            try {
+                result = aggregateInDatabase(userId, period, startDate, endDate, startInstant, endInstant);
+            } catch (DataAccessException e) {
+                LOG.warn("Database chart aggregation failed for userId: {}, falling back to in-memory aggregation", userId, e);
+                result = aggregateInMemory(userId, period, startDate, endDate, startInstant, endInstant);
+            }
+            if (chart.isVerify()) {
+                Map<String, Object> expected = aggregateInMemory(userId, period, startDate, endDate, startInstant, endInstant);
+                if (!expected.equals(result)) {
+                    LOG.warn(
+                        "Chart aggregation mismatch for userId: {}, period: {}: database={}, java={}",
+                        userId,
+                        period,
+                        result,
+                        expected
+                    );
+                }
+            }
         }
 
         LOG.debug(
-            "Chart data for userId: {}, period: {}: labels={}, incomeData={}, expenseData={}, progressRateData=",
+            "Chart data for userId: {}, period: {}: labels={}, incomeData={}, expenseData={}, progressRateData={}",
             userId,
             period,
-            labels,
-            incomeData,
-            expenseData,
-            progressRateData
+            result.get("labels"),
+            result.get("incomeData"),
+            result.get("expenseData"),
+            result.get("progressRateData")
         );
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("labels", labels);
-        result.put("incomeData", incomeData);
-        result.put("expenseData", expenseData);
-        result.put("progressRateData", progressRateData);
         return result;
     }
 
-    private void processWeeklyData(
-        LocalDate startDate,
-        List<Transaction> transactions,
-        List<String> labels,
-        List<BigDecimal> incomeData,
-        List<BigDecimal> expenseData,
-        List<BigDecimal> progressRateData
-    ) {
-        for (int i = 0; i < 7; i++) {
-            LocalDate date = startDate.plusDays(i);
-            labels.add(date.format(DateTimeFormatter.ofPattern("dd/MM")));
-
-            BigDecimal income = BigDecimal.ZERO;
-            BigDecimal expense = BigDecimal.ZERO;
-            for (Transaction transaction : transactions) {
-                LocalDate transactionDate = transaction.getTransactionDate().atZone(ZoneId.of("Asia/Ho_Chi_Minh")).toLocalDate();
-                if (transactionDate.equals(date)) {
-                    if (transaction.getTransactionType() == TransactionType.INCOME) {
-                        income = income.add(transaction.getAmount());
-                    } else if (transaction.getTransactionType() == TransactionType.EXPENSE) {
-                        expense = expense.add(transaction.getAmount());
-                    }
-                }
-            }
-            incomeData.add(income);
-            expenseData.add(expense);
-            progressRateData.add(income.subtract(expense));
-        }
-    }
-
-    private void processMonthlyData(
+    /**
+     * Gom nhóm trong Java: tải toàn bộ giao dịch của kỳ rồi cộng dồn theo bucket.
+     */
+    private Map<String, Object> aggregateInMemory(
+        Long userId,
+        String period,
         LocalDate startDate,
         LocalDate endDate,
-        List<Transaction> transactions,
-        List<String> labels,
-        List<BigDecimal> incomeData,
-        List<BigDecimal> expenseData,
-        List<BigDecimal> progressRateData
+        Instant startInstant,
+        Instant endInstant
     ) {
-        LocalDate monthStart = startDate;
-        LocalDate monthEnd = endDate;
-
-        int daysInMonth = monthEnd.getDayOfMonth();
-        for (int i = 1; i <= daysInMonth; i += 5) {
-            LocalDate startRange = monthStart.withDayOfMonth(i);
-            LocalDate endRange = monthStart.withDayOfMonth(Math.min(i + 4, daysInMonth));
-            labels.add(
-                startRange.format(DateTimeFormatter.ofPattern("dd/MM")) + "-" + endRange.format(DateTimeFormatter.ofPattern("dd/MM"))
-            );
-
-            BigDecimal income = BigDecimal.ZERO;
-            BigDecimal expense = BigDecimal.ZERO;
-            for (Transaction transaction : transactions) {
-                LocalDate transactionDate = transaction.getTransactionDate().atZone(ZoneId.of("Asia/Ho_Chi_Minh")).toLocalDate();
-                if (!transactionDate.isBefore(startRange) && !transactionDate.isAfter(endRange)) {
-                    if (transaction.getTransactionType() == TransactionType.INCOME) {
-                        income = income.add(transaction.getAmount());
-                    } else if (transaction.getTransactionType() == TransactionType.EXPENSE) {
-                        expense = expense.add(transaction.getAmount());
-                    }
-                }
-            }
-            incomeData.add(income);
-            expenseData.add(expense);
-            progressRateData.add(income.subtract(expense));
-        }
+        List<Transaction> transactions = transactionRepository.findByUserIdAndTransactionDateBetween(userId, startInstant, endInstant);
+        LOG.info(
+            "Transactions found for userId: {}, period: {}, from: {}, to: {}, count: {}",
+            userId,
+            period,
+            startInstant,
+            endInstant,
+            transactions.size()
+        );
+
+        ChartBucketAggregator aggregator = ChartBucketAggregator.forPeriod(period, startDate, endDate, ChartBucketAggregator.VN_ZONE);
+        aggregator.addAll(transactions);
+        return aggregator.toChartData();
     }
 
-    private void processYearlyData(
+    /**
+     * Gom nhóm trong cơ sở dữ liệu: truy vấn GROUP BY trả về tổng theo ngày (hoặc
+     * theo tháng với kỳ YEAR) và loại giao dịch, sau đó gộp vào các bucket.
+     */
+    private Map<String, Object> aggregateInDatabase(
+        Long userId,
+        String period,
         LocalDate startDate,
         LocalDate endDate,
-        List<Transaction> transactions,
-        List<String> labels,
-        List<BigDecimal> incomeData,
-        List<BigDecimal> expenseData,
-        List<BigDecimal> progressRateData
+        Instant startInstant,
+        Instant endInstant
     ) {
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            labels.add(current.format(DateTimeFormatter.ofPattern("yyyy-MM")));
-
-            BigDecimal income = BigDecimal.ZERO;
-            BigDecimal expense = BigDecimal.ZERO;
-            for (Transaction transaction : transactions) {
-                LocalDate transactionDate = transaction.getTransactionDate().atZone(ZoneId.of("Asia/Ho_Chi_Minh")).toLocalDate();
-                if (transactionDate.getYear() == current.getYear() && transactionDate.getMonthValue() == current.getMonthValue()) {
-                    if (transaction.getTransactionType() == TransactionType.INCOME) {
-                        income = income.add(transaction.getAmount());
-                    } else if (transaction.getTransactionType() == TransactionType.EXPENSE) {
-                        expense = expense.add(transaction.getAmount());
-                    }
-                }
-            }
-            incomeData.add(income);
-            expenseData.add(expense);
-            progressRateData.add(income.subtract(expense));
-            current = current.plusMonths(1);
+        ZoneId zone = ChartBucketAggregator.VN_ZONE;
+        String zoneOffset = zone.getRules().getOffset(startInstant).getId();
+        String bucketFormat = "YEAR".equalsIgnoreCase(period) ? "%Y-%m-01" : "%Y-%m-%d";
+        List<BucketTotal> totals = transactionRepository.sumAmountByBucketAndType(
+            userId,
+            startInstant,
+            endInstant,
+            zoneOffset,
+            bucketFormat
+        );
+        LOG.info(
+            "Bucket totals found for userId: {}, period: {}, from: {}, to: {}, count: {}",
+            userId,
+            period,
+            startInstant,
+            endInstant,
+            totals.size()
+        );
+
+        ChartBucketAggregator aggregator = ChartBucketAggregator.forPeriod(period, startDate, endDate, zone);
+        for (BucketTotal total : totals) {
+            Instant bucketStart = LocalDate.parse(total.getBucket()).atStartOfDay(zone).toInstant();
+            aggregator.add(bucketStart, TransactionType.valueOf(total.getTransactionType()), total.getTotal());
         }
+        return aggregator.toChartData();
     }
 
     /**
@@ -65,4 +65,12 @@ public interface SummaryService {
      * @param newTransaction the new transaction (after create/update, null if delete).
      */
     void updateSummaryForTransaction(Long userId, Transaction oldTransaction, Transaction newTransaction);
+
+    /**
+     * Apply accumulated period changes to the summaries of a user.
+     *
+     * @param userId the ID of the user.
+     * @param deltas the net income and expense changes per period.
+     */
+    void applySummaryDeltas(Long userId, SummaryDeltas deltas);
 }
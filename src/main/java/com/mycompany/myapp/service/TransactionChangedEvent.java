@@ -0,0 +1,49 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Transaction;
+
+/**
+ * Published when a transaction of a user is created, updated or deleted.
+ * <p>
+ * The transactions are snapshots taken at write time: {@code oldTransaction} is
+ * {@code null} on create and {@code newTransaction} is {@code null} on delete.
+ */
+public class TransactionChangedEvent {
+
+    private final Long userId;
+    private final Transaction oldTransaction;
+    private final Transaction newTransaction;
+    private final long createdAtNanos = System.nanoTime();
+
+    public TransactionChangedEvent(Long userId, Transaction oldTransaction, Transaction newTransaction) {
+        this.userId = userId;
+        this.oldTransaction = oldTransaction;
+        this.newTransaction = newTransaction;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Transaction getOldTransaction() {
+        return oldTransaction;
+    }
+
+    public Transaction getNewTransaction() {
+        return newTransaction;
+    }
+
+    public long getCreatedAtNanos() {
+        return createdAtNanos;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TransactionChangedEvent{" +
+            "userId=" + userId +
+            ", oldTransaction=" + oldTransaction +
+            ", newTransaction=" + newTransaction +
+            "}";
+    }
+}
@@ -2,39 +2,52 @@ package com.mycompany.myapp.service;
 
 import com.itextpdf.text.*;
 import com.itextpdf.text.pdf.*;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.*;
 import com.mycompany.myapp.domain.enumeration.TransactionType;
 import com.mycompany.myapp.repository.TransactionRepository;
 import com.mycompany.myapp.service.criteria.TransactionCriteria;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.JoinType;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.*;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.service.QueryService;
-import tech.jhipster.service.filter.InstantFilter;
-import tech.jhipster.service.filter.LongFilter;
 
 @Service
 @Transactional(readOnly = true)
 public class TransactionQueryService extends QueryService<Transaction> {
 
     private static final Logger LOG = LoggerFactory.getLogger(TransactionQueryService.class);
+
+    // DANH MỤC, LOẠI, MÔ TẢ, NGÀY, SỐ TIỀN, in characters
+    private static final int[] EXCEL_COLUMN_WIDTHS = { 20, 12, 50, 22, 22 };
+
     private final TransactionRepository transactionRepository;
+    private final ApplicationProperties applicationProperties;
+    private final EntityManager entityManager;
 
-    public TransactionQueryService(TransactionRepository transactionRepository) {
+    public TransactionQueryService(
+        TransactionRepository transactionRepository,
+        ApplicationProperties applicationProperties,
+        EntityManager entityManager
+    ) {
         this.transactionRepository = transactionRepository;
+        this.applicationProperties = applicationProperties;
+        this.entityManager = entityManager;
     }
 
     @Transactional(readOnly = true)
@@ -84,182 +97,215 @@ public class TransactionQueryService extends QueryService<Transaction> {
         return specification;
     }
 
-    public List<Transaction> findByFilters(Long userId, Long category, Instant fromDate, Instant toDate, String type) {
+    /**
+     * Stream the transactions matching the export filters, ordered by date in the
+     * database. The stream must be consumed inside a transaction and closed.
+     */
+    public Stream<Transaction> streamByFilters(
+        Long userId,
+        Long category,
+        Instant fromDate,
+        Instant toDate,
+        String type,
+        Sort.Direction direction
+    ) {
         LOG.debug(
-            "Finding transactions for userId: {}, category: {}, fromDate: {}, toDate: {}, type: {}",
+            "Streaming transactions for userId: {}, category: {}, fromDate: {}, toDate: {}, type: {}",
             userId,
             category,
             fromDate,
             toDate,
             type
         );
-        if (userId == null) return List.of();
-        TransactionCriteria criteria = new TransactionCriteria();
-        criteria.setUserId(new LongFilter());
-        criteria.getUserId().setEquals(userId);
-        if (category != null) {
-            criteria.setCategoryId(new LongFilter());
-            criteria.getCategoryId().setEquals(category);
-        }
-        if (fromDate != null || toDate != null) {
-            InstantFilter dateFilter = new InstantFilter();
-            if (fromDate != null) dateFilter.setGreaterThanOrEqual(fromDate);
-            if (toDate != null) dateFilter.setLessThanOrEqual(toDate);
-            criteria.setTransactionDate(dateFilter);
-        }
-        if (type != null) {
-            TransactionCriteria.TransactionTypeFilter typeFilter = new TransactionCriteria.TransactionTypeFilter();
-            typeFilter.setEquals(TransactionType.valueOf(type));
-            criteria.setTransactionType(typeFilter);
-        }
-        Specification<Transaction> specification = createSpecification(criteria);
-        return transactionRepository.findAll(specification);
+        return transactionRepository.streamForExport(
+            userId,
+            category,
+            fromDate,
+            toDate,
+            type != null ? TransactionType.valueOf(type) : null,
+            Sort.by(direction, "transactionDate", "id")
+        );
     }
 
-    public byte[] exportToExcel(Long userId, List<Transaction> transactions, String sort) {
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Transactions");
-            List<Transaction> sortedTransactions = transactions
-                .stream()
-                .sorted((t1, t2) -> {
-                    int compare = t1.getTransactionDate().compareTo(t2.getTransactionDate());
-                    return "transactionDate,asc".equalsIgnoreCase(sort) ? -compare : compare;
-                })
-                .collect(Collectors.toList());
-            String headerText = "Thống kê giao dịch";
-            String[] headers = { "DANH MỤC", "LOẠI", "MÔ TẢ", "NGÀY", "SỐ TIỀN" };
-            Row headerRow = sheet.createRow(0);
-            Cell mergedCell = headerRow.createCell(0);
-            mergedCell.setCellValue(headerText);
-            CellStyle mergedStyle = workbook.createCellStyle();
-            org.apache.poi.ss.usermodel.Font mergedFont = workbook.createFont();
-            mergedFont.setBold(true);
-            mergedFont.setColor(IndexedColors.RED.getIndex());
-            mergedFont.setFontHeightInPoints((short) 18);
-            mergedStyle.setFont(mergedFont);
-            mergedStyle.setAlignment(HorizontalAlignment.CENTER);
-            mergedCell.setCellStyle(mergedStyle);
-            sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 4));
-            Row columnHeaderRow = sheet.createRow(1);
-            CellStyle headerStyle = createHeaderCellStyle(workbook);
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = columnHeaderRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            CellStyle amountStyle = createAmountCellStyle(workbook);
-            CellStyle amountStyleRed = workbook.createCellStyle();
-            org.apache.poi.ss.usermodel.Font fontRed = workbook.createFont();
-            fontRed.setBold(true);
-            fontRed.setColor(IndexedColors.RED.getIndex());
-            fontRed.setFontHeightInPoints((short) 12);
-            amountStyleRed.setFont(fontRed);
-            amountStyleRed.setDataFormat(workbook.createDataFormat().getFormat("#,##0 \"VND\""));
-            amountStyleRed.setAlignment(HorizontalAlignment.RIGHT);
-            amountStyle.setAlignment(HorizontalAlignment.RIGHT);
-            CellStyle dateStyle = createDateCellStyle(workbook);
-            int rowIdx = 2;
-            double totalAmount = 0;
-            for (Transaction transaction : sortedTransactions) {
-                Row row = sheet.createRow(rowIdx++);
-                row.createCell(0).setCellValue(transaction.getCategory() != null ? transaction.getCategory().getCategoryName() : "");
-                row.createCell(1).setCellValue(translateTransactionTypeToVietnamese(transaction.getTransactionType()));
-                row.createCell(2).setCellValue(transaction.getDescription());
-                // Chuyển đổi ngày giờ từ UTC sang Asia/Ho_Chi_Minh cho Excel
-                ZoneId zoneId = ZoneId.of("Asia/Ho_Chi_Minh");
-                String dateString = transaction
-                    .getTransactionDate()
-                    .atZone(ZoneId.of("UTC"))
-                    .withZoneSameInstant(zoneId)
-                    .format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-                Cell dateCell = row.createCell(3);
-                dateCell.setCellValue(dateString);
-                dateCell.setCellStyle(dateStyle);
-                Cell amountCell = row.createCell(4);
-                double amount = transaction.getAmount().doubleValue();
-                if (transaction.getTransactionType() == TransactionType.INCOME) {
-                    amountCell.setCellValue(amount);
-                    amountCell.setCellStyle(amountStyle);
-                    totalAmount += amount;
-                } else {
-                    amountCell.setCellValue(-amount);
-                    amountCell.setCellStyle(amountStyleRed);
-                    totalAmount -= amount;
+    /**
+     * Write the matching transactions as an Excel workbook to {@code out}.
+     * <p>
+     * The rows are read from a database cursor and detached once written. In the
+     * default streaming mode they go through an {@link SXSSFWorkbook} that only
+     * keeps a sliding window of rows in memory, and the column widths are fixed
+     * up front, so the heap used does not depend on the number of rows.
+     */
+    public void exportToExcel(
+        Long userId,
+        Long category,
+        Instant fromDate,
+        Instant toDate,
+        String type,
+        String sort,
+        OutputStream out
+    ) throws IOException {
+        // Thứ tự cũ của file Excel: "transactionDate,asc" là mới nhất trước, còn lại là cũ nhất trước
+        Sort.Direction direction = "transactionDate,asc".equalsIgnoreCase(sort) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        ApplicationProperties.TransactionExport settings = applicationProperties.getTransactionExport();
+        try (Stream<Transaction> transactions = streamByFilters(userId, category, fromDate, toDate, type, direction)) {
+            if ("dom".equalsIgnoreCase(settings.getExcelWriter())) {
+                try (Workbook workbook = new XSSFWorkbook()) {
+                    writeExcel(workbook, transactions, true);
+                    workbook.write(out);
                 }
+                return;
+            }
+            SXSSFWorkbook workbook = new SXSSFWorkbook(settings.getRowWindow());
+            workbook.setCompressTempFiles(true);
+            try {
+                writeExcel(workbook, transactions, false);
+                workbook.write(out);
+            } finally {
+                workbook.dispose();
+                workbook.close();
+            }
+        }
+    }
+
+    private void writeExcel(Workbook workbook, Stream<Transaction> transactions, boolean autoSize) {
+        Sheet sheet = workbook.createSheet("Transactions");
+        String headerText = "Thống kê giao dịch";
+        String[] headers = { "DANH MỤC", "LOẠI", "MÔ TẢ", "NGÀY", "SỐ TIỀN" };
+        Row headerRow = sheet.createRow(0);
+        Cell mergedCell = headerRow.createCell(0);
+        mergedCell.setCellValue(headerText);
+        CellStyle mergedStyle = workbook.createCellStyle();
+        org.apache.poi.ss.usermodel.Font mergedFont = workbook.createFont();
+        mergedFont.setBold(true);
+        mergedFont.setColor(IndexedColors.RED.getIndex());
+        mergedFont.setFontHeightInPoints((short) 18);
+        mergedStyle.setFont(mergedFont);
+        mergedStyle.setAlignment(HorizontalAlignment.CENTER);
+        mergedCell.setCellStyle(mergedStyle);
+        sheet.addMergedRegion(new CellRangeAddress(0, 0, 0, 4));
+        Row columnHeaderRow = sheet.createRow(1);
+        CellStyle headerStyle = createHeaderCellStyle(workbook);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = columnHeaderRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+        }
+        CellStyle amountStyle = createAmountCellStyle(workbook);
+        CellStyle amountStyleRed = workbook.createCellStyle();
+        org.apache.poi.ss.usermodel.Font fontRed = workbook.createFont();
+        fontRed.setBold(true);
+        fontRed.setColor(IndexedColors.RED.getIndex());
+        fontRed.setFontHeightInPoints((short) 12);
+        amountStyleRed.setFont(fontRed);
+        amountStyleRed.setDataFormat(workbook.createDataFormat().getFormat("#,##0 \"VND\""));
+        amountStyleRed.setAlignment(HorizontalAlignment.RIGHT);
+        amountStyle.setAlignment(HorizontalAlignment.RIGHT);
+        CellStyle dateStyle = createDateCellStyle(workbook);
+        int rowIdx = 2;
+        double totalAmount = 0;
+        for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+            Row row = sheet.createRow(rowIdx++);
+            row.createCell(0).setCellValue(transaction.getCategory() != null ? transaction.getCategory().getCategoryName() : "");
+            row.createCell(1).setCellValue(translateTransactionTypeToVietnamese(transaction.getTransactionType()));
+            row.createCell(2).setCellValue(transaction.getDescription());
+            // Chuyển đổi ngày giờ từ UTC sang Asia/Ho_Chi_Minh cho Excel
+            ZoneId zoneId = ZoneId.of("Asia/Ho_Chi_Minh");
+            String dateString = transaction
+                .getTransactionDate()
+                .atZone(ZoneId.of("UTC"))
+                .withZoneSameInstant(zoneId)
+                .format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+            Cell dateCell = row.createCell(3);
+            dateCell.setCellValue(dateString);
+            dateCell.setCellStyle(dateStyle);
+            Cell amountCell = row.createCell(4);
+            double amount = transaction.getAmount().doubleValue();
+            if (transaction.getTransactionType() == TransactionType.INCOME) {
+                amountCell.setCellValue(amount);
+                amountCell.setCellStyle(amountStyle);
+                totalAmount += amount;
+            } else {
+                amountCell.setCellValue(-amount);
+                amountCell.setCellStyle(amountStyleRed);
+                totalAmount -= amount;
             }
-            Row totalRow = sheet.createRow(rowIdx);
-            Cell totalLabelCell = totalRow.createCell(0);
-            totalLabelCell.setCellValue("Tổng");
+            entityManager.detach(transaction);
+        }
+        Row totalRow = sheet.createRow(rowIdx);
+        Cell totalLabelCell = totalRow.createCell(0);
+        totalLabelCell.setCellValue("Tổng");
 
-            CellStyle totalLabelStyle = workbook.createCellStyle();
-            org.apache.poi.ss.usermodel.Font totalLabelFont = workbook.createFont();
-            totalLabelFont.setBold(true);
-            totalLabelFont.setFontHeightInPoints((short) 13);
-            totalLabelStyle.setFont(totalLabelFont);
-            totalLabelStyle.setAlignment(HorizontalAlignment.CENTER);
-            totalLabelCell.setCellStyle(totalLabelStyle);
-            sheet.addMergedRegion(new CellRangeAddress(rowIdx, rowIdx, 0, 3));
-            for (int i = 1; i <= 3; i++) totalRow.createCell(i);
-            Cell totalAmountCell = totalRow.createCell(4);
-            totalAmountCell.setCellValue(Math.abs(totalAmount));
-            if (totalAmount > 0) {
-                totalAmountCell.setCellStyle(amountStyle);
-            } else if (totalAmount < 0) {
-                totalAmountCell.setCellStyle(amountStyleRed);
+        CellStyle totalLabelStyle = workbook.createCellStyle();
+        org.apache.poi.ss.usermodel.Font totalLabelFont = workbook.createFont();
+        totalLabelFont.setBold(true);
+        totalLabelFont.setFontHeightInPoints((short) 13);
+        totalLabelStyle.setFont(totalLabelFont);
+        totalLabelStyle.setAlignment(HorizontalAlignment.CENTER);
+        totalLabelCell.setCellStyle(totalLabelStyle);
+        sheet.addMergedRegion(new CellRangeAddress(rowIdx, rowIdx, 0, 3));
+        for (int i = 1; i <= 3; i++) totalRow.createCell(i);
+        Cell totalAmountCell = totalRow.createCell(4);
+        totalAmountCell.setCellValue(Math.abs(totalAmount));
+        if (totalAmount > 0) {
+            totalAmountCell.setCellStyle(amountStyle);
+        } else if (totalAmount < 0) {
+            totalAmountCell.setCellStyle(amountStyleRed);
+        } else {
+            totalAmountCell.setCellStyle(amountStyle);
+        }
+        for (int i = 0; i < headers.length; i++) {
+            if (autoSize) {
+                sheet.autoSizeColumn(i);
             } else {
-                totalAmountCell.setCellStyle(amountStyle);
+                sheet.setColumnWidth(i, EXCEL_COLUMN_WIDTHS[i] * 256);
             }
-            for (int i = 0; i < headers.length; i++) sheet.autoSizeColumn(i);
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            workbook.write(outputStream);
-            return outputStream.toByteArray();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to export data to Excel", e);
         }
     }
 
-    public byte[] exportToPDF(Long userId, List<Transaction> transactions, String sort) {
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+    /**
+     * Write the matching transactions as a PDF document to {@code out}.
+     * <p>
+     * In the default streaming mode the table is marked incomplete and added to the
+     * document every {@code pdfChunkRows} rows: iText lays out and writes those rows,
+     * then drops them from the table. The first pages leave before the last rows are
+     * read, and the heap used does not depend on the number of rows.
+     */
+    public void exportToPDF(Long userId, Long category, Instant fromDate, Instant toDate, String type, String sort, OutputStream out) {
+        Sort.Direction direction = "transactionDate,desc".equalsIgnoreCase(sort) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        ApplicationProperties.TransactionExport settings = applicationProperties.getTransactionExport();
+        int chunkRows = "buffered".equalsIgnoreCase(settings.getPdfWriter()) ? 0 : Math.max(settings.getPdfChunkRows(), 1);
+        PdfFonts fonts = PdfFonts.INSTANCE;
+        try (Stream<Transaction> transactions = streamByFilters(userId, category, fromDate, toDate, type, direction)) {
             Document document = new Document();
-            PdfWriter.getInstance(document, outputStream);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            // The caller owns the response stream
+            writer.setCloseStream(false);
             document.open();
-            BaseFont baseFont = BaseFont.createFont("fonts/Roboto-Regular.ttf", BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
-            com.itextpdf.text.Font titleFont = new com.itextpdf.text.Font(baseFont, 18, com.itextpdf.text.Font.BOLD, BaseColor.RED);
-            com.itextpdf.text.Font headerFont = new com.itextpdf.text.Font(baseFont, 12, com.itextpdf.text.Font.NORMAL);
-            com.itextpdf.text.Font dataFont = new com.itextpdf.text.Font(baseFont, 10, com.itextpdf.text.Font.NORMAL);
-            com.itextpdf.text.Font incomeFont = new com.itextpdf.text.Font(baseFont, 10, com.itextpdf.text.Font.BOLD, BaseColor.BLUE);
-            com.itextpdf.text.Font expenseFont = new com.itextpdf.text.Font(baseFont, 10, com.itextpdf.text.Font.BOLD, BaseColor.RED);
-            com.itextpdf.text.Font totalFont = new com.itextpdf.text.Font(baseFont, 12, com.itextpdf.text.Font.BOLD, BaseColor.BLUE);
-            Paragraph title = new Paragraph("Thống kê giao dịch", titleFont);
+            Paragraph title = new Paragraph("Thống kê giao dịch", fonts.title);
             title.setAlignment(Element.ALIGN_CENTER);
             document.add(title);
             document.add(Chunk.NEWLINE);
-            List<Transaction> sortedTransactions = transactions
-                .stream()
-                .sorted((t1, t2) -> {
-                    int compare = t1.getTransactionDate().compareTo(t2.getTransactionDate());
-                    return "transactionDate,desc".equalsIgnoreCase(sort) ? -compare : compare;
-                })
-                .collect(Collectors.toList());
             PdfPTable table = new PdfPTable(5);
             table.setWidthPercentage(100);
             table.setWidths(new int[] { 2, 2, 4, 3, 3 });
+            table.setComplete(chunkRows == 0);
             String[] headers = { "DANH MỤC", "LOẠI", "MÔ TẢ", "NGÀY", "SỐ TIỀN" };
             for (String header : headers) {
-                PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
+                PdfPCell cell = new PdfPCell(new Phrase(header, fonts.header));
                 cell.setHorizontalAlignment(Element.ALIGN_CENTER);
                 cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
                 table.addCell(cell);
             }
             double totalAmount = 0;
-            for (Transaction transaction : sortedTransactions) {
-                table.addCell(new Phrase(transaction.getCategory() != null ? transaction.getCategory().getCategoryName() : "", dataFont));
+            int rows = 0;
+            for (Transaction transaction : (Iterable<Transaction>) transactions::iterator) {
+                table.addCell(new Phrase(transaction.getCategory() != null ? transaction.getCategory().getCategoryName() : "", fonts.data));
                 PdfPCell typeCell = new PdfPCell(
-                    new Phrase(translateTransactionTypeToVietnamese(transaction.getTransactionType()), dataFont)
+                    new Phrase(translateTransactionTypeToVietnamese(transaction.getTransactionType()), fonts.data)
                 );
                 typeCell.setHorizontalAlignment(Element.ALIGN_CENTER);
                 table.addCell(typeCell);
-                table.addCell(new Phrase(transaction.getDescription() != null ? transaction.getDescription() : "", dataFont));
+                table.addCell(new Phrase(transaction.getDescription() != null ? transaction.getDescription() : "", fonts.data));
                 // Chuyển đổi ngày giờ từ UTC sang Asia/Ho_Chi_Minh
                 ZoneId zoneId = ZoneId.of("Asia/Ho_Chi_Minh");
                 String dateString = transaction
@@ -267,7 +313,7 @@ public class TransactionQueryService extends QueryService<Transaction> {
                     .atZone(ZoneId.of("UTC"))
                     .withZoneSameInstant(zoneId)
                     .format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
-                PdfPCell dateCell = new PdfPCell(new Phrase(dateString, dataFont));
+                PdfPCell dateCell = new PdfPCell(new Phrase(dateString, fonts.data));
                 dateCell.setHorizontalAlignment(Element.ALIGN_CENTER);
                 table.addCell(dateCell);
                 double amount = transaction.getAmount() != null ? transaction.getAmount().doubleValue() : 0;
@@ -275,18 +321,22 @@ public class TransactionQueryService extends QueryService<Transaction> {
                 com.itextpdf.text.Font amountFont;
                 if (transaction.getTransactionType() == TransactionType.INCOME) {
                     amountStr = String.format("%,.0f VND", amount);
-                    amountFont = incomeFont;
+                    amountFont = fonts.income;
                     totalAmount += amount;
                 } else {
                     amountStr = String.format("-%,.0f VND", amount);
-                    amountFont = expenseFont;
+                    amountFont = fonts.expense;
                     totalAmount -= amount;
                 }
                 PdfPCell amountCell = new PdfPCell(new Phrase(amountStr, amountFont));
                 amountCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
                 table.addCell(amountCell);
+                entityManager.detach(transaction);
+                if (chunkRows > 0 && ++rows % chunkRows == 0) {
+                    document.add(table);
+                }
             }
-            PdfPCell totalLabelCell = new PdfPCell(new Phrase("Tổng", headerFont));
+            PdfPCell totalLabelCell = new PdfPCell(new Phrase("Tổng", fonts.header));
             totalLabelCell.setColspan(4);
             totalLabelCell.setHorizontalAlignment(Element.ALIGN_CENTER);
             totalLabelCell.setBackgroundColor(BaseColor.LIGHT_GRAY);
@@ -295,13 +345,13 @@ public class TransactionQueryService extends QueryService<Transaction> {
             if (totalAmount < 0) {
                 totalStr = "-" + totalStr.replace("-", "");
             }
-            PdfPCell totalAmountCell = new PdfPCell(new Phrase(totalStr, totalFont));
+            PdfPCell totalAmountCell = new PdfPCell(new Phrase(totalStr, fonts.total));
             totalAmountCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
             totalAmountCell.setBackgroundColor(BaseColor.LIGHT_GRAY);
             table.addCell(totalAmountCell);
+            table.setComplete(true);
             document.add(table);
             document.close();
-            return outputStream.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException("Failed to export data to PDF", e);
         }
@@ -348,4 +398,35 @@ public class TransactionQueryService extends QueryService<Transaction> {
         style.setDataFormat(workbook.createDataFormat().getFormat("#,## \"VND\""));
         return style;
     }
+
+    /**
+     * Fonts of the PDF export, parsed once per JVM on first use and shared by all
+     * exports; iText only reads them.
+     */
+    private static final class PdfFonts {
+
+        static final PdfFonts INSTANCE = new PdfFonts();
+
+        final com.itextpdf.text.Font title;
+        final com.itextpdf.text.Font header;
+        final com.itextpdf.text.Font data;
+        final com.itextpdf.text.Font income;
+        final com.itextpdf.text.Font expense;
+        final com.itextpdf.text.Font total;
+
+        private PdfFonts() {
+            BaseFont baseFont;
+            try {
+                baseFont = BaseFont.createFont("fonts/Roboto-Regular.ttf", BaseFont.IDENTITY_H, BaseFont.EMBEDDED);
+            } catch (DocumentException | IOException e) {
+                throw new IllegalStateException("Cannot load the PDF export font", e);
+            }
+            title = new com.itextpdf.text.Font(baseFont, 18, com.itextpdf.text.Font.BOLD, BaseColor.RED);
+            header = new com.itextpdf.text.Font(baseFont, 12, com.itextpdf.text.Font.NORMAL);
+            data = new com.itextpdf.text.Font(baseFont, 10, com.itextpdf.text.Font.NORMAL);
+            income = new com.itextpdf.text.Font(baseFont, 10, com.itextpdf.text.Font.BOLD, BaseColor.BLUE);
+            expense = new com.itextpdf.text.Font(baseFont, 10, com.itextpdf.text.Font.BOLD, BaseColor.RED);
+            total = new com.itextpdf.text.Font(baseFont, 12, com.itextpdf.text.Font.BOLD, BaseColor.BLUE);
+        }
+    }
 }
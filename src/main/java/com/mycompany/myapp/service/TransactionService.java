@@ -1,6 +1,10 @@
 package com.mycompany.myapp.service;
 
 import com.mycompany.myapp.domain.Transaction;
+import com.mycompany.myapp.service.dto.TransactionExportJobDTO;
+import com.mycompany.myapp.service.dto.TransactionImportJobDTO;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -67,9 +71,55 @@ public interface TransactionService {
     List<Transaction> findByUserId(Long userId);
 
     /**
-     * Import transactions from a file.
+     * Start importing transactions from a file in the background.
      *
      * @param file the file containing transactions to import.
+     * @return the status of the import job.
      */
-    void importFromFile(MultipartFile file);
+    TransactionImportJobDTO importFromFile(MultipartFile file);
+
+    /**
+     * Get the status of an import job of the current user.
+     *
+     * @param jobId the id of the import job.
+     * @return the job status.
+     */
+    Optional<TransactionImportJobDTO> findImportJob(String jobId);
+
+    /**
+     * Cancel an import job of the current user.
+     *
+     * @param jobId the id of the import job.
+     * @return the job status.
+     */
+    Optional<TransactionImportJobDTO> cancelImport(String jobId);
+
+    /**
+     * Start exporting the current user's transactions to a file in the background.
+     *
+     * @param format "xlsx" or "pdf".
+     * @param category the category filter, may be null.
+     * @param fromDate the start of the date range, may be null.
+     * @param toDate the end of the date range, may be null.
+     * @param type the transaction type filter, may be null.
+     * @param sort the sort order of the export.
+     * @return the status of the export job.
+     */
+    TransactionExportJobDTO startExport(String format, Long category, Instant fromDate, Instant toDate, String type, String sort);
+
+    /**
+     * Get the status of an export job of the current user.
+     *
+     * @param jobId the id of the export job.
+     * @return the job status.
+     */
+    Optional<TransactionExportJobDTO> findExportJob(String jobId);
+
+    /**
+     * Get the file of a completed export job of the current user.
+     *
+     * @param jobId the id of the export job.
+     * @return the exported file.
+     */
+    Optional<Path> findExportFile(String jobId);
 }
@@ -0,0 +1,176 @@
+package com.mycompany.myapp.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing bills created together in an event, each with its participants.
+ */
+public class BillBatchDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * How the amount of a bill is split between its participants.
+     */
+    public enum SplitType {
+        /** The same share for everyone. */
+        EQUAL,
+        /** Shares in proportion to the weight of each participant. */
+        WEIGHTED,
+        /** The participants with a share amount pay it, the others split what is left equally. */
+        FIXED,
+    }
+
+    @NotEmpty
+    @Valid
+    private List<BillEntry> bills = new ArrayList<>();
+
+    public List<BillEntry> getBills() {
+        return bills;
+    }
+
+    public void setBills(List<BillEntry> bills) {
+        this.bills = bills;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BillBatchDTO{" +
+            "bills=" + bills.size() +
+            "}";
+    }
+
+    /**
+     * One bill of the batch. Without a split type, the bill is split FIXED when a
+     * participant gives its share amount and EQUAL otherwise.
+     */
+    public static class BillEntry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+
+        @NotNull
+        private String name;
+
+        @NotNull
+        private BigDecimal amount;
+
+        private Instant createdAt;
+
+        @NotNull
+        private Long payerId;
+
+        private SplitType splitType;
+
+        @NotEmpty
+        @Valid
+        private List<ParticipantEntry> participants = new ArrayList<>();
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        public void setCreatedAt(Instant createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        public Long getPayerId() {
+            return payerId;
+        }
+
+        public void setPayerId(Long payerId) {
+            this.payerId = payerId;
+        }
+
+        public SplitType getSplitType() {
+            return splitType;
+        }
+
+        public void setSplitType(SplitType splitType) {
+            this.splitType = splitType;
+        }
+
+        public List<ParticipantEntry> getParticipants() {
+            return participants;
+        }
+
+        public void setParticipants(List<ParticipantEntry> participants) {
+            this.participants = participants;
+        }
+    }
+
+    /**
+     * A member taking part in a bill, with its weight for a WEIGHTED split or its
+     * share amount for a FIXED one. The share amount is set on the response.
+     */
+    public static class ParticipantEntry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @NotNull
+        private Long memberId;
+
+        @Min(0)
+        private Long weight;
+
+        private BigDecimal shareAmount;
+
+        public Long getMemberId() {
+            return memberId;
+        }
+
+        public void setMemberId(Long memberId) {
+            this.memberId = memberId;
+        }
+
+        public Long getWeight() {
+            return weight;
+        }
+
+        public void setWeight(Long weight) {
+            this.weight = weight;
+        }
+
+        public BigDecimal getShareAmount() {
+            return shareAmount;
+        }
+
+        public void setShareAmount(BigDecimal shareAmount) {
+            this.shareAmount = shareAmount;
+        }
+    }
+}
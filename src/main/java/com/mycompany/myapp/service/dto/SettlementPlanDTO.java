@@ -0,0 +1,111 @@
+package com.mycompany.myapp.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the transfers that settle the balances of an event.
+ */
+public class SettlementPlanDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long eventId;
+
+    private List<Transfer> transfers = new ArrayList<>();
+
+    private BigDecimal unsettledAmount;
+
+    private boolean persisted;
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public List<Transfer> getTransfers() {
+        return transfers;
+    }
+
+    public void setTransfers(List<Transfer> transfers) {
+        this.transfers = transfers;
+    }
+
+    public BigDecimal getUnsettledAmount() {
+        return unsettledAmount;
+    }
+
+    public void setUnsettledAmount(BigDecimal unsettledAmount) {
+        this.unsettledAmount = unsettledAmount;
+    }
+
+    public boolean isPersisted() {
+        return persisted;
+    }
+
+    public void setPersisted(boolean persisted) {
+        this.persisted = persisted;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SettlementPlanDTO{" +
+            "eventId=" + eventId +
+            ", transfers=" + transfers.size() +
+            ", unsettledAmount=" + unsettledAmount +
+            ", persisted=" + persisted +
+            "}";
+    }
+
+    /**
+     * One payment of the plan, from a member who owes money to one who is owed.
+     */
+    public static class Transfer implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Long fromMemberId;
+
+        private Long toMemberId;
+
+        private BigDecimal amount;
+
+        public Transfer() {}
+
+        public Transfer(Long fromMemberId, Long toMemberId, BigDecimal amount) {
+            this.fromMemberId = fromMemberId;
+            this.toMemberId = toMemberId;
+            this.amount = amount;
+        }
+
+        public Long getFromMemberId() {
+            return fromMemberId;
+        }
+
+        public void setFromMemberId(Long fromMemberId) {
+            this.fromMemberId = fromMemberId;
+        }
+
+        public Long getToMemberId() {
+            return toMemberId;
+        }
+
+        public void setToMemberId(Long toMemberId) {
+            this.toMemberId = toMemberId;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.mycompany.myapp.service.dto;
+
+import com.mycompany.myapp.domain.enumeration.TransactionType;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the progress of a statement import job.
+ */
+public class TransactionImportJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED,
+    }
+
+    private String jobId;
+
+    private String fileName;
+
+    private Status status;
+
+    private long rowsParsed;
+
+    private long rowsWritten;
+
+    private long rowsSkipped;
+
+    private long rowsFailed;
+
+    private long rowsDuplicate;
+
+    private List<DuplicateRow> duplicates = new ArrayList<>();
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private String error;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed;
+    }
+
+    public void setRowsParsed(long rowsParsed) {
+        this.rowsParsed = rowsParsed;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public void setRowsSkipped(long rowsSkipped) {
+        this.rowsSkipped = rowsSkipped;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    public long getRowsDuplicate() {
+        return rowsDuplicate;
+    }
+
+    public void setRowsDuplicate(long rowsDuplicate) {
+        this.rowsDuplicate = rowsDuplicate;
+    }
+
+    public List<DuplicateRow> getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(List<DuplicateRow> duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * A statement row skipped because it was imported before.
+     */
+    public static class DuplicateRow implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Instant transactionDate;
+
+        private BigDecimal amount;
+
+        private TransactionType transactionType;
+
+        private String description;
+
+        public DuplicateRow() {
+            // Empty constructor needed for Jackson.
+        }
+
+        public DuplicateRow(Instant transactionDate, BigDecimal amount, TransactionType transactionType, String description) {
+            this.transactionDate = transactionDate;
+            this.amount = amount;
+            this.transactionType = transactionType;
+            this.description = description;
+        }
+
+        public Instant getTransactionDate() {
+            return transactionDate;
+        }
+
+        public void setTransactionDate(Instant transactionDate) {
+            this.transactionDate = transactionDate;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public void setAmount(BigDecimal amount) {
+            this.amount = amount;
+        }
+
+        public TransactionType getTransactionType() {
+            return transactionType;
+        }
+
+        public void setTransactionType(TransactionType transactionType) {
+            this.transactionType = transactionType;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TransactionImportJobDTO{" +
+            "jobId='" + jobId + "'" +
+            ", fileName='" + fileName + "'" +
+            ", status=" + status +
+            ", rowsParsed=" + rowsParsed +
+            ", rowsWritten=" + rowsWritten +
+            ", rowsSkipped=" + rowsSkipped +
+            ", rowsFailed=" + rowsFailed +
+            ", rowsDuplicate=" + rowsDuplicate +
+            ", startedAt=" + startedAt +
+            ", finishedAt=" + finishedAt +
+            "}";
+    }
+}
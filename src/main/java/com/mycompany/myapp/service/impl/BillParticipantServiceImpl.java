@@ -8,9 +8,10 @@ import com.mycompany.myapp.repository.BillParticipantRepository;
 import com.mycompany.myapp.repository.BillRepository;
 import com.mycompany.myapp.repository.MemberRepository;
 import com.mycompany.myapp.service.BillParticipantService;
+import com.mycompany.myapp.service.BillSplitter;
+import com.mycompany.myapp.service.Cents;
+import com.mycompany.myapp.service.EventBalanceDeltas;
 import com.mycompany.myapp.service.EventBalanceService;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -51,8 +52,7 @@ public class BillParticipantServiceImpl implements BillParticipantService {
         Bill bill = billRepository.findById(billId).orElseThrow(() -> new IllegalArgumentException("Bill not found"));
         billParticipant.setBill(bill);
         BillParticipant result = billParticipantRepository.save(billParticipant);
-        Long eventId = bill.getEvent().getId();
-        eventBalanceService.recalculateByEvent(eventId);
+        eventBalanceService.applyChanges(new EventBalanceDeltas().addParticipant(result, true));
 
         return result;
     }
@@ -60,7 +60,12 @@ public class BillParticipantServiceImpl implements BillParticipantService {
     @Override
     public BillParticipant update(BillParticipant billParticipant) {
         LOG.debug("Request to update BillParticipant : {}", billParticipant);
-        return billParticipantRepository.save(billParticipant);
+        EventBalanceDeltas deltas = new EventBalanceDeltas();
+        // The old share is taken before the merge overwrites the managed entity
+        billParticipantRepository.findById(billParticipant.getId()).ifPresent(existing -> deltas.addParticipant(existing, false));
+        BillParticipant result = billParticipantRepository.save(billParticipant);
+        eventBalanceService.applyChanges(deltas.addParticipant(result, true));
+        return result;
     }
 
     @Override
@@ -70,9 +75,11 @@ public class BillParticipantServiceImpl implements BillParticipantService {
         return billParticipantRepository
             .findById(billParticipant.getId())
             .map(existingBillParticipant -> {
+                EventBalanceDeltas deltas = new EventBalanceDeltas().addParticipant(existingBillParticipant, false);
                 if (billParticipant.getShareAmount() != null) {
                     existingBillParticipant.setShareAmount(billParticipant.getShareAmount());
                 }
+                eventBalanceService.applyChanges(deltas.addParticipant(existingBillParticipant, true));
 
                 return existingBillParticipant;
             })
@@ -89,6 +96,9 @@ public class BillParticipantServiceImpl implements BillParticipantService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete BillParticipant : {}", id);
+        billParticipantRepository
+            .findById(id)
+            .ifPresent(existing -> eventBalanceService.applyChanges(new EventBalanceDeltas().addParticipant(existing, false)));
         billParticipantRepository.deleteById(id);
     }
 
@@ -96,19 +106,22 @@ public class BillParticipantServiceImpl implements BillParticipantService {
     public void saveBillParticipants(Long billId, List<Long> memberIds) {
         Bill bill = billRepository.findById(billId).orElseThrow(() -> new IllegalArgumentException("Bill not found"));
 
+        EventBalanceDeltas deltas = new EventBalanceDeltas();
+        billParticipantRepository.findAllByBillId(billId).forEach(existing -> deltas.addParticipant(existing, false));
         billParticipantRepository.deleteByBillId(billId);
 
-        int count = memberIds.size();
-        BigDecimal share = count > 0 ? bill.getAmount().divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+        // The shares add up to the amount exactly, the leftover cents go to the first members
+        long[] shares = memberIds.isEmpty() ? new long[0] : BillSplitter.equal(Cents.fromAmount(bill.getAmount()), memberIds.size());
 
-        for (Long memberId : memberIds) {
+        for (int i = 0; i < shares.length; i++) {
             BillParticipant bp = new BillParticipant();
             bp.setBill(bill);
-            bp.setMember(memberRepository.getReferenceById(memberId));
-            bp.setShareAmount(share);
+            bp.setMember(memberRepository.getReferenceById(memberIds.get(i)));
+            bp.setShareAmount(Cents.toAmount(shares[i]));
             billParticipantRepository.save(bp);
+            deltas.addParticipant(bp, true);
         }
 
-        eventBalanceService.recalculateByEvent(bill.getEvent().getId());
+        eventBalanceService.applyChanges(deltas);
     }
 }
@@ -1,9 +1,27 @@
 package com.mycompany.myapp.service.impl;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.Bill;
+import com.mycompany.myapp.domain.BillParticipant;
+import com.mycompany.myapp.domain.Event;
+import com.mycompany.myapp.domain.Member;
+import com.mycompany.myapp.repository.BillParticipantRepository;
 import com.mycompany.myapp.repository.BillRepository;
+import com.mycompany.myapp.repository.EventRepository;
+import com.mycompany.myapp.repository.TeamMemberRepository;
 import com.mycompany.myapp.service.BillService;
+import com.mycompany.myapp.service.BillSplitter;
+import com.mycompany.myapp.service.Cents;
+import com.mycompany.myapp.service.EventBalanceDeltas;
+import com.mycompany.myapp.service.EventBalanceService;
+import com.mycompany.myapp.service.dto.BillBatchDTO;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -18,22 +36,50 @@ public class BillServiceImpl implements BillService {
 
     private static final Logger LOG = LoggerFactory.getLogger(BillServiceImpl.class);
 
+    private static final String ENTITY_NAME = "bill";
+
     private final BillRepository billRepository;
+    private final BillParticipantRepository billParticipantRepository;
+    private final EventBalanceService eventBalanceService;
+    private final EventRepository eventRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final ApplicationProperties.BillBatch batchSettings;
 
-    public BillServiceImpl(BillRepository billRepository) {
+    public BillServiceImpl(
+        BillRepository billRepository,
+        BillParticipantRepository billParticipantRepository,
+        EventBalanceService eventBalanceService,
+        EventRepository eventRepository,
+        TeamMemberRepository teamMemberRepository,
+        ApplicationProperties applicationProperties
+    ) {
         this.billRepository = billRepository;
+        this.billParticipantRepository = billParticipantRepository;
+        this.eventBalanceService = eventBalanceService;
+        this.eventRepository = eventRepository;
+        this.teamMemberRepository = teamMemberRepository;
+        this.batchSettings = applicationProperties.getBillBatch();
     }
 
     @Override
     public Bill save(Bill bill) {
         LOG.debug("Request to save Bill : {}", bill);
-        return billRepository.save(bill);
+        Bill result = billRepository.save(bill);
+        eventBalanceService.applyChanges(new EventBalanceDeltas().addBill(result, true));
+        return result;
     }
 
     @Override
     public Bill update(Bill bill) {
         LOG.debug("Request to update Bill : {}", bill);
-        return billRepository.save(bill);
+        // The old amounts are taken before the merge overwrites the managed bill
+        EventBalanceDeltas deltas = new EventBalanceDeltas();
+        billRepository.findById(bill.getId()).ifPresent(existing -> subtractBill(deltas, existing));
+        Bill result = billRepository.save(bill);
+        deltas.addBill(result, true);
+        billParticipantRepository.findAllByBillId(result.getId()).forEach(participant -> deltas.addParticipant(participant, true));
+        eventBalanceService.applyChanges(deltas);
+        return result;
     }
 
     @Override
@@ -43,6 +89,7 @@ public class BillServiceImpl implements BillService {
         return billRepository
             .findById(bill.getId())
             .map(existingBill -> {
+                EventBalanceDeltas deltas = new EventBalanceDeltas().addBill(existingBill, false);
                 if (bill.getName() != null) {
                     existingBill.setName(bill.getName());
                 }
@@ -52,6 +99,7 @@ public class BillServiceImpl implements BillService {
                 if (bill.getCreatedAt() != null) {
                     existingBill.setCreatedAt(bill.getCreatedAt());
                 }
+                eventBalanceService.applyChanges(deltas.addBill(existingBill, true));
 
                 return existingBill;
             })
@@ -68,6 +116,133 @@ public class BillServiceImpl implements BillService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Bill : {}", id);
+        billRepository
+            .findById(id)
+            .ifPresent(existing -> eventBalanceService.applyChanges(subtractBill(new EventBalanceDeltas(), existing)));
         billRepository.deleteById(id);
     }
+
+    @Override
+    public Optional<BillBatchDTO> saveBatch(Long eventId, BillBatchDTO batch) {
+        LOG.debug("Request to save a batch of Bills in Event : {}, {}", eventId, batch);
+        if (batch.getBills().size() > batchSettings.getMaxBills()) {
+            throw new BadRequestAlertException("Too many bills in one batch", ENTITY_NAME, "batchtoolarge");
+        }
+        Optional<Event> found = eventRepository.findById(eventId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Event event = found.get();
+        if (event.getTeam() == null) {
+            throw new BadRequestAlertException("The event has no team", ENTITY_NAME, "noteam");
+        }
+        // The whole batch is checked against the roster before anything is written
+        Set<Long> roster = new HashSet<>(teamMemberRepository.findMemberIdsByTeamId(event.getTeam().getId()));
+
+        List<Bill> bills = new ArrayList<>(batch.getBills().size());
+        List<BillParticipant> participants = new ArrayList<>();
+        EventBalanceDeltas deltas = new EventBalanceDeltas();
+        for (BillBatchDTO.BillEntry entry : batch.getBills()) {
+            if (entry.getId() != null) {
+                throw new BadRequestAlertException("A new bill cannot already have an ID", ENTITY_NAME, "idexists");
+            }
+            // The amount is rounded to the cent here so that the shares add up to what is stored
+            long totalCents = totalCents(entry.getAmount());
+            Bill bill = new Bill()
+                .name(entry.getName())
+                .amount(Cents.toAmount(totalCents))
+                .createdAt(entry.getCreatedAt())
+                .event(event)
+                .payer(teamMember(roster, entry.getPayerId()));
+            bills.add(bill);
+            deltas.addBill(bill, true);
+
+            long[] shares = shares(entry, totalCents);
+            Set<Long> memberIds = new HashSet<>();
+            for (int i = 0; i < shares.length; i++) {
+                BillBatchDTO.ParticipantEntry participantEntry = entry.getParticipants().get(i);
+                if (!memberIds.add(participantEntry.getMemberId())) {
+                    throw new BadRequestAlertException("A member takes part in a bill only once", ENTITY_NAME, "participantduplicate");
+                }
+                participantEntry.setShareAmount(Cents.toAmount(shares[i]));
+                BillParticipant participant = new BillParticipant()
+                    .shareAmount(participantEntry.getShareAmount())
+                    .member(teamMember(roster, participantEntry.getMemberId()))
+                    .bill(bill);
+                participants.add(participant);
+                deltas.addParticipant(participant, true);
+            }
+        }
+
+        billRepository.insertAll(bills, participants);
+        eventBalanceService.applyChanges(deltas);
+        for (int i = 0; i < bills.size(); i++) {
+            batch.getBills().get(i).setId(bills.get(i).getId());
+        }
+        LOG.debug("Saved {} bills with {} participants in eventId: {}", bills.size(), participants.size(), eventId);
+        return Optional.of(batch);
+    }
+
+    private static Member teamMember(Set<Long> roster, Long memberId) {
+        if (!roster.contains(memberId)) {
+            throw new BadRequestAlertException("Member " + memberId + " is not in the team of the event", ENTITY_NAME, "notteammember");
+        }
+        Member member = new Member();
+        member.setId(memberId);
+        return member;
+    }
+
+    private static long totalCents(BigDecimal amount) {
+        try {
+            return Cents.fromAmount(amount);
+        } catch (ArithmeticException e) {
+            throw new BadRequestAlertException("The amount of a bill is too large", ENTITY_NAME, "amountinvalid");
+        }
+    }
+
+    private static long[] shares(BillBatchDTO.BillEntry entry, long totalCents) {
+        List<BillBatchDTO.ParticipantEntry> participants = entry.getParticipants();
+        BillBatchDTO.SplitType splitType = entry.getSplitType();
+        if (splitType == null) {
+            boolean shareGiven = participants.stream().anyMatch(participant -> participant.getShareAmount() != null);
+            splitType = shareGiven ? BillBatchDTO.SplitType.FIXED : BillBatchDTO.SplitType.EQUAL;
+        }
+        try {
+            return switch (splitType) {
+                case EQUAL -> BillSplitter.equal(totalCents, participants.size());
+                case WEIGHTED -> {
+                    long[] weights = new long[participants.size()];
+                    for (int i = 0; i < weights.length; i++) {
+                        Long weight = participants.get(i).getWeight();
+                        if (weight == null) {
+                            throw new BadRequestAlertException(
+                                "Every participant of a weighted split needs a weight",
+                                ENTITY_NAME,
+                                "weightmissing"
+                            );
+                        }
+                        weights[i] = weight;
+                    }
+                    yield BillSplitter.weighted(totalCents, weights);
+                }
+                case FIXED -> {
+                    Long[] fixedCents = new Long[participants.size()];
+                    for (int i = 0; i < fixedCents.length; i++) {
+                        BigDecimal share = participants.get(i).getShareAmount();
+                        fixedCents[i] = share != null ? Cents.fromAmount(share) : null;
+                    }
+                    yield BillSplitter.fixed(totalCents, fixedCents);
+                }
+            };
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "splitinvalid");
+        }
+    }
+
+    // The participants go with the bill: they are cascaded on delete and orphaned by an update without them
+    private EventBalanceDeltas subtractBill(EventBalanceDeltas deltas, Bill bill) {
+        deltas.addBill(bill, false);
+        billParticipantRepository.findAllByBillId(bill.getId()).forEach(participant -> deltas.addParticipant(participant, false));
+        return deltas;
+    }
 }
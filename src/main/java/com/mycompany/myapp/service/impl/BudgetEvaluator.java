@@ -0,0 +1,200 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.Transaction;
+import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.NotificationRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the running spend of the budgets up to date and checks a transaction
+ * against the active budgets it falls into.
+ * <p>
+ * Every transaction write moves {@link Budget#getSpentAmount()} of the budgets
+ * covering it by its signed amount, with a relative UPDATE in the running
+ * database transaction. Concurrent writes add up in the row instead of
+ * overwriting each other, and a rollback undoes the move with the write. The
+ * check then reads the stored spend, no SUM over the budget window is needed.
+ * <p>
+ * {@link BudgetSpendReconciler} repairs any drift left by writes that bypass
+ * this class.
+ */
+@Component
+public class BudgetEvaluator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BudgetEvaluator.class);
+
+    private final NotificationRepository notificationRepository;
+    private final BudgetRepository budgetRepository;
+
+    public BudgetEvaluator(NotificationRepository notificationRepository, BudgetRepository budgetRepository) {
+        this.notificationRepository = notificationRepository;
+        this.budgetRepository = budgetRepository;
+    }
+
+    /**
+     * Load the active budgets matching the transaction with the spend of each.
+     * The writes of the transaction must have been recorded before.
+     */
+    public List<Evaluation> evaluate(Transaction transaction) {
+        if (transaction.getCategory() == null || transaction.getUser() == null) {
+            return List.of();
+        }
+        List<Budget> budgets = notificationRepository.findMatchingBudgetsWithTransactionDate(
+            transaction.getCategory().getId(),
+            transaction.getUser().getId(),
+            transaction.getTransactionDate()
+        );
+        List<Evaluation> evaluations = new ArrayList<>(budgets.size());
+        for (Budget budget : budgets) {
+            evaluations.add(new Evaluation(budget, budget.getSpentAmount()));
+        }
+        return evaluations;
+    }
+
+    /**
+     * Record a transaction write; {@code oldTransaction} is {@code null} on create
+     * and {@code newTransaction} is {@code null} on delete.
+     */
+    public void recordChange(Transaction oldTransaction, Transaction newTransaction) {
+        Change removed = Change.of(oldTransaction, true);
+        Change added = Change.of(newTransaction, false);
+        if (removed != null && added != null && removed.sameTarget(added)) {
+            // Only the amount changed, the same budgets move by the difference
+            BigDecimal net = added.amount.add(removed.amount);
+            if (net.signum() != 0) {
+                apply(new Change(added.userId, added.categoryId, added.date, net));
+            }
+            return;
+        }
+        if (removed != null) {
+            apply(removed);
+        }
+        if (added != null) {
+            apply(added);
+        }
+    }
+
+    /**
+     * Record a batch of transactions inserted for a user. The amounts are added
+     * up per budget first, so each budget is updated once.
+     */
+    public void recordInserted(Long userId, List<Transaction> transactions) {
+        Set<Long> categoryIds = new HashSet<>();
+        Instant from = null;
+        Instant to = null;
+        for (Transaction tx : transactions) {
+            if (tx.getCategory() == null || tx.getAmount() == null || tx.getTransactionDate() == null) {
+                continue;
+            }
+            categoryIds.add(tx.getCategory().getId());
+            Instant date = tx.getTransactionDate();
+            if (from == null || date.isBefore(from)) from = date;
+            if (to == null || date.isAfter(to)) to = date;
+        }
+        if (categoryIds.isEmpty()) {
+            return;
+        }
+
+        List<Budget> budgets = budgetRepository.findByUserIdAndCategoryIdsOverlapping(userId, categoryIds, from, to);
+        Map<Long, BigDecimal> deltas = new HashMap<>();
+        for (Transaction tx : transactions) {
+            if (tx.getCategory() == null || tx.getAmount() == null || tx.getTransactionDate() == null) {
+                continue;
+            }
+            for (Budget budget : budgets) {
+                if (covers(budget, tx)) {
+                    deltas.merge(budget.getId(), tx.getAmount(), BigDecimal::add);
+                }
+            }
+        }
+        deltas.forEach((budgetId, amount) -> {
+            if (amount.signum() != 0) {
+                budgetRepository.addSpentById(budgetId, amount);
+            }
+        });
+        LOG.debug("Moved the spend of budgets {} for {} inserted transactions", deltas.keySet(), transactions.size());
+    }
+
+    private void apply(Change change) {
+        int moved = budgetRepository.addSpent(change.userId, change.categoryId, change.date, change.amount);
+        LOG.debug("Moved the spend of {} budgets of category {} by {}", moved, change.categoryId, change.amount);
+    }
+
+    // Same bounds as BETWEEN in the update query
+    private static boolean covers(Budget budget, Transaction tx) {
+        return (
+            Objects.equals(budget.getCategory().getId(), tx.getCategory().getId()) &&
+            !tx.getTransactionDate().isBefore(budget.getStartDate()) &&
+            !tx.getTransactionDate().isAfter(budget.getEndDate())
+        );
+    }
+
+    /**
+     * A budget with the spend reached with the transaction being checked.
+     */
+    public static class Evaluation {
+
+        private final Budget budget;
+        private final BigDecimal spent;
+
+        Evaluation(Budget budget, BigDecimal spent) {
+            this.budget = budget;
+            this.spent = spent;
+        }
+
+        public Budget getBudget() {
+            return budget;
+        }
+
+        public BigDecimal getSpent() {
+            return spent;
+        }
+    }
+
+    // ================= INNER CLASS =================
+
+    /**
+     * The signed amount a transaction write adds to the budgets covering it,
+     * copied at write time.
+     */
+    private static final class Change {
+
+        final Long userId;
+        final Long categoryId;
+        final Instant date;
+        final BigDecimal amount;
+
+        private Change(Long userId, Long categoryId, Instant date, BigDecimal amount) {
+            this.userId = userId;
+            this.categoryId = categoryId;
+            this.date = date;
+            this.amount = amount;
+        }
+
+        static Change of(Transaction tx, boolean removed) {
+            if (
+                tx == null || tx.getUser() == null || tx.getCategory() == null || tx.getAmount() == null || tx.getTransactionDate() == null
+            ) {
+                return null;
+            }
+            BigDecimal amount = removed ? tx.getAmount().negate() : tx.getAmount();
+            return new Change(tx.getUser().getId(), tx.getCategory().getId(), tx.getTransactionDate(), amount);
+        }
+
+        boolean sameTarget(Change other) {
+            return Objects.equals(userId, other.userId) && Objects.equals(categoryId, other.categoryId) && date.equals(other.date);
+        }
+    }
+}
@@ -1,17 +1,22 @@
 package com.mycompany.myapp.service.impl;
 
 import com.mycompany.myapp.domain.Budget;
+import com.mycompany.myapp.domain.Category;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.domain.enumeration.BudgeStatus;
 import com.mycompany.myapp.repository.BudgetRepository;
 import com.mycompany.myapp.service.BudgetService;
 import com.mycompany.myapp.service.UserService;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -27,6 +32,8 @@ public class BudgetServiceImpl implements BudgetService {
 
     private static final Logger LOG = LoggerFactory.getLogger(BudgetServiceImpl.class);
 
+    private static final String ENTITY_NAME = "budget";
+
     private final BudgetRepository budgetRepository;
     private final UserService userService;
 
@@ -39,57 +46,43 @@ public class BudgetServiceImpl implements BudgetService {
     public Budget save(Budget budget) {
         LOG.debug("Request to save Budget : {}", budget);
         if (budget.getUser() == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated()) {
-                Optional<User> currentUser = userService.getUserWithAuthorities();
-                currentUser.ifPresent(budget::setUser);
-            }
+            setCurrentUser(budget);
         }
         budget.setCreatedAt(Instant.now());
         budget.setUpdatedAt(Instant.now());
-        // Set status based on endDate
-        if (budget.getEndDate() != null && budget.getEndDate().isAfter(Instant.now())) {
-            if (budget.getStartDate() != null && budget.getStartDate().isAfter(Instant.now())) {
-                budget.setStatus(BudgeStatus.PENDING); // Chưa bắt đầu
-            } else {
-                budget.setStatus(BudgeStatus.ACTIVE); // Đang hoạt động
-            }
-        } else {
-            if (budget.getStartDate() != null && budget.getStartDate().isBefore(Instant.now())) {
-                budget.setStatus(BudgeStatus.ENDED); // Đã kết thúc
-            } else {
-                budget.setStatus(BudgeStatus.INACTIVE); // Không hoạt động (mặc định hoặc bị hủy)
-            }
-        }
-        return budgetRepository.save(budget);
+        updateStatus(budget);
+        budget.setSpentAmount(BigDecimal.ZERO);
+        budget.setVersion(null);
+        Budget result = budgetRepository.save(budget);
+        recomputeSpent(result);
+        return result;
     }
 
     @Override
     public Budget update(Budget budget) {
         LOG.debug("Request to update Budget : {}", budget);
+        Budget existingBudget = budgetRepository
+            .findById(budget.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        checkVersion(budget, existingBudget);
         if (budget.getUser() == null) {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated()) {
-                Optional<User> currentUser = userService.getUserWithAuthorities();
-                currentUser.ifPresent(budget::setUser);
-            }
+            setCurrentUser(budget);
         }
-        budget.setUpdatedAt(Instant.now());
-        // Set status based on endDate
-        if (budget.getEndDate() != null && budget.getEndDate().isAfter(Instant.now())) {
-            if (budget.getStartDate() != null && budget.getStartDate().isAfter(Instant.now())) {
-                budget.setStatus(BudgeStatus.PENDING); // Chưa bắt đầu
-            } else {
-                budget.setStatus(BudgeStatus.ACTIVE); // Đang hoạt động
-            }
-        } else {
-            if (budget.getStartDate() != null && budget.getStartDate().isBefore(Instant.now())) {
-                budget.setStatus(BudgeStatus.ENDED); // Đã kết thúc
-            } else {
-                budget.setStatus(BudgeStatus.INACTIVE); // Không hoạt động (mặc định hoặc bị hủy)
-            }
+        boolean windowChanged = windowChanged(existingBudget, budget);
+
+        existingBudget.setBudgetAmount(budget.getBudgetAmount());
+        existingBudget.setStartDate(budget.getStartDate());
+        existingBudget.setEndDate(budget.getEndDate());
+        existingBudget.setCreatedAt(budget.getCreatedAt());
+        existingBudget.setCategory(budget.getCategory());
+        existingBudget.setUser(budget.getUser());
+        existingBudget.setUpdatedAt(Instant.now());
+        updateStatus(existingBudget);
+        Budget result = budgetRepository.save(existingBudget);
+        if (windowChanged) {
+            recomputeSpent(result);
         }
-        return budgetRepository.save(budget);
+        return result;
     }
 
     @Override
@@ -99,6 +92,11 @@ public class BudgetServiceImpl implements BudgetService {
         return budgetRepository
             .findById(budget.getId())
             .map(existingBudget -> {
+                checkVersion(budget, existingBudget);
+                boolean windowChanged =
+                    (budget.getStartDate() != null && !budget.getStartDate().equals(existingBudget.getStartDate())) ||
+                    (budget.getEndDate() != null && !budget.getEndDate().equals(existingBudget.getEndDate()));
+
                 if (budget.getBudgetAmount() != null) {
                     existingBudget.setBudgetAmount(budget.getBudgetAmount());
                 }
@@ -118,9 +116,12 @@ public class BudgetServiceImpl implements BudgetService {
                     existingBudget.setStatus(budget.getStatus());
                 }
 
-                return existingBudget;
-            })
-            .map(budgetRepository::save);
+                Budget result = budgetRepository.save(existingBudget);
+                if (windowChanged) {
+                    recomputeSpent(result);
+                }
+                return result;
+            });
     }
 
     public Page<Budget> findAllWithEagerRelationships(Pageable pageable) {
@@ -139,4 +140,65 @@ public class BudgetServiceImpl implements BudgetService {
         LOG.debug("Request to delete Budget : {}", id);
         budgetRepository.deleteById(id);
     }
+
+    private void setCurrentUser(Budget budget) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            Optional<User> currentUser = userService.getUserWithAuthorities();
+            currentUser.ifPresent(budget::setUser);
+        }
+    }
+
+    // Set status based on endDate
+    private void updateStatus(Budget budget) {
+        if (budget.getEndDate() != null && budget.getEndDate().isAfter(Instant.now())) {
+            if (budget.getStartDate() != null && budget.getStartDate().isAfter(Instant.now())) {
+                budget.setStatus(BudgeStatus.PENDING); // Chưa bắt đầu
+            } else {
+                budget.setStatus(BudgeStatus.ACTIVE); // Đang hoạt động
+            }
+        } else {
+            if (budget.getStartDate() != null && budget.getStartDate().isBefore(Instant.now())) {
+                budget.setStatus(BudgeStatus.ENDED); // Đã kết thúc
+            } else {
+                budget.setStatus(BudgeStatus.INACTIVE); // Không hoạt động (mặc định hoặc bị hủy)
+            }
+        }
+    }
+
+    /**
+     * An edit made from a stale copy of the budget must not overwrite a newer
+     * one; a request without a version is not checked.
+     */
+    private static void checkVersion(Budget budget, Budget existingBudget) {
+        if (budget.getVersion() != null && !budget.getVersion().equals(existingBudget.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Budget.class, budget.getId());
+        }
+    }
+
+    private static boolean windowChanged(Budget existingBudget, Budget budget) {
+        return (
+            !Objects.equals(idOf(existingBudget.getCategory()), idOf(budget.getCategory())) ||
+            !Objects.equals(idOf(existingBudget.getUser()), idOf(budget.getUser())) ||
+            !Objects.equals(existingBudget.getStartDate(), budget.getStartDate()) ||
+            !Objects.equals(existingBudget.getEndDate(), budget.getEndDate())
+        );
+    }
+
+    private static Long idOf(Category category) {
+        return category != null ? category.getId() : null;
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+    /**
+     * The running spend only covers the old window, so it is summed again in
+     * the database; the entity gets the new value for the response.
+     */
+    private void recomputeSpent(Budget budget) {
+        budgetRepository.recomputeSpent(budget.getId());
+        budgetRepository.findSpentAmountById(budget.getId()).ifPresent(budget::setSpentAmount);
+    }
 }
@@ -0,0 +1,104 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.enumeration.BudgeStatus;
+import com.mycompany.myapp.repository.BudgetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks the running spend of the active budgets against their transactions.
+ * <p>
+ * The active budgets are walked by id in batches; each batch is summed with one
+ * grouped query returning the stored and the actual spend side by side, read
+ * from the same snapshot. A budget that drifted is moved by the difference
+ * instead of being set to the total, so a transaction write committed in the
+ * meantime keeps its own move. Each batch runs in its own transaction.
+ */
+@Component
+public class BudgetSpendReconciler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BudgetSpendReconciler.class);
+
+    private final BudgetRepository budgetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties.BudgetSpend settings;
+
+    private final Counter checkedCounter;
+    private final Counter correctedCounter;
+    private final DistributionSummary driftSummary;
+
+    public BudgetSpendReconciler(
+        BudgetRepository budgetRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.budgetRepository = budgetRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = applicationProperties.getBudgetSpend();
+        this.checkedCounter = Counter.builder("budget.spend.reconcile.checked")
+            .description("Active budgets whose running spend was checked")
+            .register(registry);
+        this.correctedCounter = Counter.builder("budget.spend.reconcile.corrected")
+            .description("Budgets whose running spend had drifted and was corrected")
+            .register(registry);
+        this.driftSummary = DistributionSummary.builder("budget.spend.reconcile.drift")
+            .description("Absolute difference between the running spend and the sum of the transactions")
+            .register(registry);
+    }
+
+    @Scheduled(cron = "${application.budget-spend.reconcile-cron:0 15 * * * *}")
+    public void reconcileActiveBudgets() {
+        int batchSize = Math.max(1, settings.getReconcileBatchSize());
+        long afterId = 0L;
+        int checked = 0;
+        int corrected = 0;
+        while (true) {
+            List<Long> ids = budgetRepository.findIdsByStatusAfter(BudgeStatus.ACTIVE, afterId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer fixed = transactionTemplate.execute(status -> reconcile(ids));
+            checked += ids.size();
+            corrected += fixed != null ? fixed : 0;
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        LOG.info("BUDGET: reconciled the running spend of {} active budgets, {} corrected", checked, corrected);
+    }
+
+    private int reconcile(List<Long> ids) {
+        int corrected = 0;
+        for (BudgetRepository.BudgetSpend row : budgetRepository.sumSpentByBudgetIds(ids)) {
+            checkedCounter.increment();
+            BigDecimal drift = row.getSpent().subtract(row.getStoredSpent());
+            if (drift.signum() == 0) {
+                continue;
+            }
+            budgetRepository.addSpentById(row.getBudgetId(), drift);
+            correctedCounter.increment();
+            driftSummary.record(drift.abs().doubleValue());
+            corrected++;
+            LOG.warn(
+                "BUDGET: running spend of budget {} was {} instead of {}, corrected",
+                row.getBudgetId(),
+                row.getStoredSpent(),
+                row.getSpent()
+            );
+        }
+        return corrected;
+    }
+}
@@ -0,0 +1,51 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.domain.enumeration.BudgeStatus;
+import com.mycompany.myapp.repository.BudgetRepository;
+import java.time.Instant;
+import java.util.EnumSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves budgets to the status of their window once it starts or ends.
+ * <p>
+ * The status is worked out when a budget is written, so a budget saved before
+ * its window would stay PENDING, and one saved during it would stay ACTIVE,
+ * forever. Each sweep moves all the budgets whose start or end instant passed
+ * with two set-based updates, which scan the (status, start_date) and
+ * (status, end_date) indexes for the few rows due. ENDED and INACTIVE budgets
+ * are never touched, they were ended early by a notification or by hand.
+ * <p>
+ * The updates do not bump the budget version: a budget loaded by a concurrent
+ * request would otherwise fail to save on a change it cannot conflict with.
+ */
+@Component
+public class BudgetStatusSweeper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BudgetStatusSweeper.class);
+
+    private final BudgetRepository budgetRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public BudgetStatusSweeper(BudgetRepository budgetRepository, PlatformTransactionManager transactionManager) {
+        this.budgetRepository = budgetRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${application.budget-status.sweep-cron:0 * * * * *}")
+    public void sweep() {
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            int ended = budgetRepository.updateStatusOfEnded(EnumSet.of(BudgeStatus.ACTIVE, BudgeStatus.PENDING), BudgeStatus.ENDED, now);
+            int started = budgetRepository.updateStatusOfStarted(BudgeStatus.PENDING, BudgeStatus.ACTIVE, now);
+            if (ended > 0 || started > 0) {
+                LOG.info("BUDGET: {} budgets started and {} ended at {}", started, ended, now);
+            }
+        });
+    }
+}
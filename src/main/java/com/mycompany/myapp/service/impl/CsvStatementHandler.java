@@ -0,0 +1,373 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.domain.Transaction;
+import com.mycompany.myapp.service.impl.StatementRowMapper.HeaderAnchor;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads CSV statements with the same header detection, date formats and
+ * debit/credit columns as the XLSX statements.
+ * <p>
+ * The file is read through a {@link FileChannel} into a reusable byte buffer and
+ * tokenized in place: a record is a list of (start, end) offsets into the
+ * buffer, dates and amounts are parsed straight from the bytes, and only the
+ * description is decoded to a {@code String}. Values the fast path does not
+ * recognise go through {@link StatementRowMapper}, so both paths agree.
+ */
+@Component
+@Order(3)
+public class CsvStatementHandler implements StatementFormatHandler {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] DELIMITERS = { ',', ';', '\t' };
+
+    @Override
+    public String name() {
+        return "csv";
+    }
+
+    @Override
+    public boolean supports(byte[] head) {
+        for (byte b : head) {
+            if (b == 0) {
+                return false;
+            }
+        }
+        return delimiterOf(head, 0, head.length) != 0;
+    }
+
+    @Override
+    public int parse(Path file, TransactionImportParser.RowSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            CsvReader reader = new CsvReader(channel);
+            HeaderAnchor header = null;
+            int rowNum = -1;
+            int emitted = 0;
+            while (reader.next()) {
+                rowNum++;
+                if (reader.isBlank()) continue;
+
+                if (header == null) {
+                    header = StatementRowMapper.matchHeader(rowNum, reader.strings());
+                    continue;
+                }
+                Transaction tx = toTransaction(reader, header);
+                if (tx != null) {
+                    sink.accept(tx);
+                    emitted++;
+                } else {
+                    sink.skipped(rowNum);
+                }
+            }
+            if (header == null) {
+                throw new RuntimeException("Cannot find required header columns");
+            }
+            return emitted;
+        }
+    }
+
+    private Transaction toTransaction(CsvReader reader, HeaderAnchor h) {
+        Instant date = reader.date(h.dateCol);
+        if (date == null) return null;
+
+        return StatementRowMapper.buildTransaction(date, reader.money(h.debitCol), reader.money(h.creditCol), reader.string(h.descCol));
+    }
+
+    /**
+     * Picks the candidate delimiter seen most often outside quotes, or 0 when
+     * there is none.
+     */
+    private static byte delimiterOf(byte[] data, int from, int to) {
+        int[] counts = new int[DELIMITERS.length];
+        boolean quoted = false;
+        for (int i = from; i < to; i++) {
+            if (data[i] == '"') {
+                quoted = !quoted;
+            } else if (!quoted) {
+                for (int d = 0; d < DELIMITERS.length; d++) {
+                    if (data[i] == DELIMITERS[d]) counts[d]++;
+                }
+            }
+        }
+        byte delimiter = 0;
+        int best = 0;
+        for (int d = 0; d < DELIMITERS.length; d++) {
+            if (counts[d] > best) {
+                best = counts[d];
+                delimiter = DELIMITERS[d];
+            }
+        }
+        return delimiter;
+    }
+
+    private static boolean isSpace(byte b) {
+        return (b & 0xff) <= ' ';
+    }
+
+    // ================= TOKENIZER =================
+    private static final class CsvReader {
+
+        private static final int NEED_MORE = -1;
+
+        private final FileChannel channel;
+        private final byte delimiter;
+        private byte[] data = new byte[BUFFER_SIZE];
+        private int pos;
+        private int limit;
+        private boolean eof;
+
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private boolean[] escaped = new boolean[16];
+        private int count;
+
+        CsvReader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            fill();
+            if (limit >= 3 && (data[0] & 0xff) == 0xEF && (data[1] & 0xff) == 0xBB && (data[2] & 0xff) == 0xBF) {
+                pos = 3;
+            }
+            byte sniffed = delimiterOf(data, pos, limit);
+            this.delimiter = sniffed != 0 ? sniffed : (byte) ',';
+        }
+
+        /**
+         * Moves to the next record, reading more of the file when the record is
+         * cut by the end of the buffer.
+         */
+        boolean next() throws IOException {
+            while (true) {
+                if (pos >= limit && eof) {
+                    return false;
+                }
+                int end = scan();
+                if (end != NEED_MORE) {
+                    pos = end;
+                    return true;
+                }
+                fill();
+            }
+        }
+
+        private void fill() throws IOException {
+            if (pos > 0) {
+                System.arraycopy(data, pos, data, 0, limit - pos);
+                limit -= pos;
+                pos = 0;
+            }
+            if (limit == data.length) {
+                // A single record larger than the buffer
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            int read = channel.read(ByteBuffer.wrap(data, limit, data.length - limit));
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+
+        /**
+         * Splits the record starting at {@code pos} into fields.
+         *
+         * @return the offset of the next record, or {@link #NEED_MORE}.
+         */
+        private int scan() {
+            int i = pos;
+            count = 0;
+            while (true) {
+                int start;
+                int end;
+                boolean esc = false;
+                int k;
+                if (i < limit && data[i] == '"') {
+                    int j = i + 1;
+                    while (true) {
+                        if (j >= limit) {
+                            if (!eof) return NEED_MORE;
+                            break;
+                        }
+                        if (data[j] == '"') {
+                            if (j + 1 >= limit && !eof) return NEED_MORE;
+                            if (j + 1 < limit && data[j + 1] == '"') {
+                                esc = true;
+                                j += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        j++;
+                    }
+                    start = i + 1;
+                    end = Math.min(j, limit);
+                    // Anything between the closing quote and the delimiter is ignored
+                    k = j + 1;
+                    while (k < limit && data[k] != delimiter && data[k] != '\n' && data[k] != '\r') k++;
+                } else {
+                    k = i;
+                    while (k < limit && data[k] != delimiter && data[k] != '\n' && data[k] != '\r') k++;
+                    start = i;
+                    end = k;
+                }
+                if (k >= limit && !eof) return NEED_MORE;
+
+                addField(start, end, esc);
+                if (k >= limit) {
+                    return limit;
+                }
+                if (data[k] == delimiter) {
+                    i = k + 1;
+                    continue;
+                }
+                if (data[k] == '\r') {
+                    if (k + 1 >= limit && !eof) return NEED_MORE;
+                    return k + 1 < limit && data[k + 1] == '\n' ? k + 2 : k + 1;
+                }
+                return k + 1;
+            }
+        }
+
+        private void addField(int start, int end, boolean esc) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+                escaped = Arrays.copyOf(escaped, count * 2);
+            }
+            starts[count] = start;
+            ends[count] = end;
+            escaped[count] = esc;
+            count++;
+        }
+
+        boolean isBlank() {
+            return count == 1 && starts[0] == ends[0];
+        }
+
+        List<String> strings() {
+            List<String> values = new ArrayList<>(count);
+            for (int col = 0; col < count; col++) {
+                values.add(string(col));
+            }
+            return values;
+        }
+
+        String string(int col) {
+            if (col >= count) return "";
+
+            String value = new String(data, starts[col], ends[col] - starts[col], StandardCharsets.UTF_8);
+            if (escaped[col]) {
+                value = value.replace("\"\"", "\"");
+            }
+            return value.trim();
+        }
+
+        /**
+         * Reads {@code d/M/yyyy[ HH:mm]} from the first line of the field.
+         */
+        Instant date(int col) {
+            if (col >= count) return null;
+
+            int i = starts[col];
+            int end = ends[col];
+            while (i < end && isSpace(data[i])) i++;
+            int lineEnd = i;
+            while (lineEnd < end && data[lineEnd] != '\n' && data[lineEnd] != '\r') lineEnd++;
+            while (lineEnd > i && isSpace(data[lineEnd - 1])) lineEnd--;
+            if (i == lineEnd) return null;
+
+            int[] cursor = { i };
+            int day = digits(cursor, lineEnd, 1, 2);
+            int month = expect(cursor, lineEnd, '/') ? digits(cursor, lineEnd, 1, 2) : -1;
+            int year = expect(cursor, lineEnd, '/') ? digits(cursor, lineEnd, 4, 4) : -1;
+            if (day < 0 || month < 0 || year < 0) {
+                return StatementRowMapper.parseDate(string(col));
+            }
+            try {
+                if (cursor[0] == lineEnd) {
+                    return LocalDate.of(year, month, day).atStartOfDay(StatementRowMapper.VN_ZONE).toInstant();
+                }
+                int hour = expect(cursor, lineEnd, ' ') ? digits(cursor, lineEnd, 2, 2) : -1;
+                int minute = expect(cursor, lineEnd, ':') ? digits(cursor, lineEnd, 2, 2) : -1;
+                if (hour >= 0 && minute >= 0 && cursor[0] == lineEnd) {
+                    return LocalDateTime.of(year, month, day, hour, minute).atZone(StatementRowMapper.VN_ZONE).toInstant();
+                }
+            } catch (DateTimeException e) {
+                // Out of range values are resolved by the formatter
+            }
+            return StatementRowMapper.parseDate(string(col));
+        }
+
+        /**
+         * Reads an amount with optional sign, thousands separators and decimal
+         * point.
+         */
+        BigDecimal money(int col) {
+            if (col >= count) return null;
+
+            int i = starts[col];
+            int end = ends[col];
+            while (i < end && isSpace(data[i])) i++;
+            while (end > i && isSpace(data[end - 1])) end--;
+            if (i == end) return null;
+
+            boolean negative = data[i] == '-';
+            if (negative || data[i] == '+') i++;
+            long unscaled = 0;
+            int scale = -1;
+            int digits = 0;
+            for (; i < end; i++) {
+                byte b = data[i];
+                if (b >= '0' && b <= '9') {
+                    if (++digits > 18) return StatementRowMapper.parseMoney(string(col));
+                    unscaled = unscaled * 10 + (b - '0');
+                    if (scale >= 0) scale++;
+                } else if (b == ',' && scale < 0) {
+                    continue;
+                } else if (b == '.' && scale < 0) {
+                    scale = 0;
+                } else {
+                    return StatementRowMapper.parseMoney(string(col));
+                }
+            }
+            if (digits == 0) return StatementRowMapper.parseMoney(string(col));
+
+            return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+        }
+
+        private int digits(int[] cursor, int end, int min, int max) {
+            int value = 0;
+            int n = 0;
+            int i = cursor[0];
+            while (i < end && n < max && data[i] >= '0' && data[i] <= '9') {
+                value = value * 10 + (data[i] - '0');
+                i++;
+                n++;
+            }
+            cursor[0] = i;
+            return n >= min && (i == end || data[i] < '0' || data[i] > '9') ? value : -1;
+        }
+
+        private boolean expect(int[] cursor, int end, char c) {
+            if (cursor[0] < end && data[cursor[0]] == c) {
+                cursor[0]++;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -1,22 +1,19 @@
 package com.mycompany.myapp.service.impl;
 
-import com.mycompany.myapp.domain.Bill;
-import com.mycompany.myapp.domain.BillParticipant;
-import com.mycompany.myapp.domain.Event;
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.EventBalance;
-import com.mycompany.myapp.domain.Member;
-import com.mycompany.myapp.repository.BillParticipantRepository;
-import com.mycompany.myapp.repository.BillRepository;
+import com.mycompany.myapp.repository.EventBalanceCounterRepository.BalanceDelta;
 import com.mycompany.myapp.repository.EventBalanceRepository;
 import com.mycompany.myapp.repository.EventRepository;
+import com.mycompany.myapp.service.EventBalanceDeltas;
 import com.mycompany.myapp.service.EventBalanceService;
 import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.TreeMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -25,6 +22,11 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Service Implementation for managing
  * {@link com.mycompany.myapp.domain.EventBalance}.
+ * <p>
+ * Bill and participant writes hand their changes to {@link #applyChanges}, which
+ * upserts them into the stored balances; {@link #recalculateByEvent} rebuilds the
+ * balances of an event with one aggregate query and a batched insert, for repairs
+ * and the "full" mode.
  */
 @Service
 @Transactional
@@ -33,20 +35,17 @@ public class EventBalanceServiceImpl implements EventBalanceService {
     private static final Logger LOG = LoggerFactory.getLogger(EventBalanceServiceImpl.class);
 
     private final EventBalanceRepository eventBalanceRepository;
-    private final BillRepository billRepository;
-    private final BillParticipantRepository billParticipantRepository;
     private final EventRepository eventRepository;
+    private final ApplicationProperties.EventBalance settings;
 
     public EventBalanceServiceImpl(
         EventBalanceRepository eventBalanceRepository,
-        BillRepository billRepository,
-        BillParticipantRepository billParticipantRepository,
-        EventRepository eventRepository
+        EventRepository eventRepository,
+        ApplicationProperties applicationProperties
     ) {
         this.eventBalanceRepository = eventBalanceRepository;
-        this.billRepository = billRepository;
-        this.billParticipantRepository = billParticipantRepository;
         this.eventRepository = eventRepository;
+        this.settings = applicationProperties.getEventBalance();
     }
 
     @Override
@@ -97,50 +96,69 @@ public class EventBalanceServiceImpl implements EventBalanceService {
     }
 
     @Override
-    public void recalculateByEvent(Long eventId) {
-        Event event = eventRepository.findById(eventId).orElseThrow(() -> new IllegalArgumentException("Event not found"));
-
-        eventBalanceRepository.deleteByEventId(eventId);
-
-        Map<Long, BigDecimal> paidMap = new HashMap<>();
-        Map<Long, BigDecimal> shouldPayMap = new HashMap<>();
-
-        List<Bill> bills = billRepository.findAllByEventId(eventId);
-
-        for (Bill bill : bills) {
-            Long payerId = bill.getPayer().getId();
-            BigDecimal amount = bill.getAmount();
-
-            paidMap.merge(payerId, amount, BigDecimal::add);
-
-            List<BillParticipant> participants = billParticipantRepository.findAllByBillId(bill.getId());
-
-            for (BillParticipant bp : participants) {
-                Long memberId = bp.getMember().getId();
-                shouldPayMap.merge(memberId, bp.getShareAmount(), BigDecimal::add);
-            }
+    public void applyChanges(EventBalanceDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
         }
+        if ("full".equalsIgnoreCase(settings.getMode())) {
+            deltas.eventIds().forEach(this::recalculateByEvent);
+            return;
+        }
+        // Events and members in id order, so concurrent writers lock the rows in the same order
+        Map<Long, List<BalanceDelta>> byEvent = new TreeMap<>();
+        deltas
+            .asMap()
+            .forEach((key, delta) ->
+                byEvent
+                    .computeIfAbsent(key.getEventId(), eventId -> new ArrayList<>())
+                    .add(new BalanceDelta(key.getMemberId(), delta.getPaid(), delta.getShouldPay()))
+            );
+        byEvent.forEach((eventId, eventDeltas) -> {
+            eventDeltas.sort(Comparator.comparing(BalanceDelta::getMemberId));
+            eventBalanceRepository.addToBalances(eventId, eventDeltas);
+            LOG.debug("Applied {} balance changes to eventId: {}", eventDeltas.size(), eventId);
+        });
+        if (settings.isVerify()) {
+            byEvent.keySet().forEach(this::verify);
+        }
+    }
 
-        Set<Long> memberIds = new HashSet<>();
-        memberIds.addAll(paidMap.keySet());
-        memberIds.addAll(shouldPayMap.keySet());
-
-        for (Long memberId : memberIds) {
-            BigDecimal paid = paidMap.getOrDefault(memberId, BigDecimal.ZERO);
-            BigDecimal shouldPay = shouldPayMap.getOrDefault(memberId, BigDecimal.ZERO);
-
-            EventBalance eb = new EventBalance();
-            eb.setEvent(event);
+    @Override
+    public boolean recalculateByEvent(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            return false;
+        }
 
-            Member member = new Member();
-            member.setId(memberId);
-            eb.setMember(member);
+        List<BalanceDelta> totals = sumBalances(eventId);
+        eventBalanceRepository.deleteByEventId(eventId);
+        eventBalanceRepository.insertBalances(eventId, totals);
+        LOG.debug("Recalculated {} balances of eventId: {}", totals.size(), eventId);
+        return true;
+    }
 
-            eb.setPaid(paid);
-            eb.setShouldPay(shouldPay);
-            eb.setBalance(paid.subtract(shouldPay));
+    /**
+     * Totals of every member of an event, summed by the database from all its bills
+     * and participants. Members whose totals are both zero have no balance.
+     */
+    private List<BalanceDelta> sumBalances(Long eventId) {
+        // The query runs on JDBC, pending bill and participant changes have to reach the database first
+        eventBalanceRepository.flush();
+        return eventBalanceRepository.sumBalancesByEventId(eventId);
+    }
 
-            eventBalanceRepository.save(eb);
+    private void verify(Long eventId) {
+        Map<Long, String> expected = new TreeMap<>();
+        sumBalances(eventId).forEach(total -> expected.put(total.getMemberId(), totals(total.getPaid(), total.getShouldPay())));
+        Map<Long, String> stored = new TreeMap<>();
+        eventBalanceRepository
+            .findTotalsByEventId(eventId)
+            .forEach(totals -> stored.put(totals.getMemberId(), totals(totals.getPaid(), totals.getShouldPay())));
+        if (!expected.equals(stored)) {
+            LOG.warn("Event balance mismatch for eventId: {}: incremental={}, full={}", eventId, stored, expected);
         }
     }
+
+    private static String totals(BigDecimal paid, BigDecimal shouldPay) {
+        return paid.stripTrailingZeros().toPlainString() + "/" + shouldPay.stripTrailingZeros().toPlainString();
+    }
 }
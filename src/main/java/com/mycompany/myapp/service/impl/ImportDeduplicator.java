@@ -0,0 +1,143 @@
+package com.mycompany.myapp.service.impl;
+
+import com.carrotsearch.hppc.LongHashSet;
+import com.mycompany.myapp.domain.Transaction;
+import com.mycompany.myapp.repository.TransactionRepository;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recognises statement rows that were already imported, for one import job.
+ * <p>
+ * Each imported row is stored with a 64-bit fingerprint of (user, instant,
+ * amount, type, normalized description, ordinal). The ordinal tells identical
+ * rows of the same statement apart, so two equal coffees on the same day are
+ * both kept, and importing the statement again skips both.
+ * <p>
+ * The fingerprints already stored for the dates of the file are loaded into a
+ * primitive set with range queries. The loaded range grows with the batches,
+ * padded by {@link #RANGE_PADDING}, so a statement usually costs one or two
+ * queries instead of one lookup per row.
+ */
+final class ImportDeduplicator {
+
+    private static final Duration RANGE_PADDING = Duration.ofDays(31);
+
+    private final Long userId;
+    private final TransactionRepository transactionRepository;
+    private final MessageDigest digest;
+
+    private final LongHashSet stored = new LongHashSet();
+    private final LongHashSet seen = new LongHashSet();
+    private Instant loadedFrom;
+    private Instant loadedTo;
+
+    ImportDeduplicator(Long userId, TransactionRepository transactionRepository) {
+        this.userId = userId;
+        this.transactionRepository = transactionRepository;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Split a batch into new rows, with their fingerprints, and rows already stored.
+     */
+    Split split(List<Transaction> batch) {
+        ensureLoaded(batch);
+        Split split = new Split(batch.size());
+        for (Transaction tx : batch) {
+            long fingerprint;
+            int ordinal = 0;
+            do {
+                fingerprint = fingerprint(tx, ordinal++);
+            } while (!seen.add(fingerprint));
+
+            if (stored.contains(fingerprint)) {
+                split.duplicates.add(tx);
+            } else {
+                split.fresh.add(tx);
+                split.fingerprints[split.fresh.size() - 1] = fingerprint;
+            }
+        }
+        return split;
+    }
+
+    private void ensureLoaded(List<Transaction> batch) {
+        Instant min = null;
+        Instant max = null;
+        for (Transaction tx : batch) {
+            Instant date = tx.getTransactionDate();
+            if (min == null || date.isBefore(min)) min = date;
+            if (max == null || date.isAfter(max)) max = date;
+        }
+        if (min == null) {
+            return;
+        }
+        if (loadedFrom == null) {
+            loadedFrom = min.minus(RANGE_PADDING);
+            loadedTo = max.plus(RANGE_PADDING);
+            load(loadedFrom, loadedTo);
+            return;
+        }
+        if (min.isBefore(loadedFrom)) {
+            Instant from = min.minus(RANGE_PADDING);
+            load(from, loadedFrom);
+            loadedFrom = from;
+        }
+        if (!max.isBefore(loadedTo)) {
+            Instant to = max.plus(RANGE_PADDING);
+            load(loadedTo, to);
+            loadedTo = to;
+        }
+    }
+
+    private void load(Instant from, Instant to) {
+        transactionRepository.forEachImportFingerprint(userId, from, to, stored::add);
+    }
+
+    private long fingerprint(Transaction tx, int ordinal) {
+        String key =
+            userId +
+            "|" +
+            tx.getTransactionDate().getEpochSecond() +
+            "|" +
+            tx.getAmount().stripTrailingZeros().toPlainString() +
+            "|" +
+            tx.getTransactionType().name() +
+            "|" +
+            normalize(tx.getDescription()) +
+            "|" +
+            ordinal;
+        return ByteBuffer.wrap(digest.digest(key.getBytes(StandardCharsets.UTF_8))).getLong();
+    }
+
+    private static String normalize(String description) {
+        if (description == null) {
+            return "";
+        }
+        return Normalizer.normalize(description, Normalizer.Form.NFC).toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+    }
+
+    static final class Split {
+
+        final List<Transaction> fresh;
+        final long[] fingerprints;
+        final List<Transaction> duplicates = new ArrayList<>();
+
+        Split(int size) {
+            this.fresh = new ArrayList<>(size);
+            this.fingerprints = new long[size];
+        }
+    }
+}
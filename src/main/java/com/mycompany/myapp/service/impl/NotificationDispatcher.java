@@ -0,0 +1,247 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Category;
+import com.mycompany.myapp.domain.Notification;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.CategoryRepository;
+import com.mycompany.myapp.repository.NotificationOutboxRepository.OutboxEntry;
+import com.mycompany.myapp.repository.NotificationRepository;
+import com.mycompany.myapp.service.NotificationQueuedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.text.NumberFormat;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Turns the entries of the notification outbox into notifications.
+ * <p>
+ * Each batch locks the oldest entries with {@code SKIP LOCKED}, renders their
+ * messages, inserts the notifications with JDBC batches and deletes the entries
+ * in one transaction, so an entry becomes exactly one notification even with
+ * several dispatchers. Once committed, the notifications are counted as unread
+ * and pushed to the open streams of their users. A drain runs on the shared
+ * {@code taskExecutor} after a transaction queued notifications; the periodic
+ * poll picks up what is left after a failure or a restart.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final Locale VI_VN = Locale.forLanguageTag("vi-VN");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy").withZone(ZoneId.systemDefault());
+
+    private final NotificationRepository notificationRepository;
+    private final CategoryRepository categoryRepository;
+    private final NotificationStreamRegistry notificationStreams;
+    private final NotificationUnreadCounter unreadCounter;
+    private final Executor taskExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties.NotificationOutbox settings;
+
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    private final Counter dispatchedCounter;
+    private final Counter failuresCounter;
+    private final Timer lagTimer;
+
+    public NotificationDispatcher(
+        NotificationRepository notificationRepository,
+        CategoryRepository categoryRepository,
+        NotificationStreamRegistry notificationStreams,
+        NotificationUnreadCounter unreadCounter,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.categoryRepository = categoryRepository;
+        this.notificationStreams = notificationStreams;
+        this.unreadCounter = unreadCounter;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = applicationProperties.getNotificationOutbox();
+        this.dispatchedCounter = Counter.builder("notification.outbox.dispatched")
+            .description("Outbox entries turned into notifications")
+            .register(registry);
+        this.failuresCounter = Counter.builder("notification.outbox.failures")
+            .description("Outbox batches that failed to dispatch")
+            .register(registry);
+        this.lagTimer = Timer.builder("notification.outbox.lag")
+            .description("Time between a budget check and the insert of its notification")
+            .register(registry);
+    }
+
+    @TransactionalEventListener
+    public void onNotificationQueued(NotificationQueuedEvent event) {
+        drainRequested.set(true);
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                taskExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                drainScheduled.set(false);
+                LOG.warn("Notification drain rejected, the outbox will be dispatched by the next poll", e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void poll() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        do {
+            drainRequested.set(false);
+            try {
+                int batchSize = Math.max(1, settings.getBatchSize());
+                List<Notification> dispatched;
+                do {
+                    dispatched = transactionTemplate.execute(status -> dispatchBatch(batchSize));
+                    if (dispatched != null) {
+                        unreadCounter.added(dispatched);
+                        notificationStreams.push(dispatched);
+                    }
+                } while (dispatched != null && !dispatched.isEmpty());
+            } catch (RuntimeException e) {
+                failuresCounter.increment();
+                LOG.error("Failed to dispatch the notification outbox, it will be retried by the next poll", e);
+            } finally {
+                drainScheduled.set(false);
+            }
+            // A transaction that committed while the last batch ran may have found the drain still scheduled
+        } while (drainRequested.get() && drainScheduled.compareAndSet(false, true));
+    }
+
+    private List<Notification> dispatchBatch(int batchSize) {
+        List<OutboxEntry> entries = notificationRepository.lockOutboxBatch(batchSize);
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Category> categories = new HashMap<>();
+        categoryRepository
+            .findAllById(entries.stream().map(OutboxEntry::getCategoryId).filter(Objects::nonNull).distinct().toList())
+            .forEach(category -> categories.put(category.getId(), category));
+
+        // NumberFormat is not thread-safe, each batch gets its own
+        NumberFormat numberFormat = NumberFormat.getNumberInstance(VI_VN);
+        List<Notification> notifications = new ArrayList<>(entries.size());
+        List<Long> ids = new ArrayList<>(entries.size());
+        Instant now = Instant.now();
+        for (OutboxEntry entry : entries) {
+            ids.add(entry.getId());
+            String message = render(entry, categories.get(entry.getCategoryId()), numberFormat);
+            if (message == null) {
+                LOG.warn("Dropping outbox entry {} of unsupported type {}", entry.getId(), entry.getNotificationType());
+                continue;
+            }
+            User user = new User();
+            user.setId(entry.getUserId());
+            notifications.add(
+                new Notification()
+                    .message(message)
+                    .notificationType(entry.getNotificationType())
+                    .isRead(false)
+                    .createdAt(entry.getCreatedAt())
+                    .user(user)
+            );
+            lagTimer.record(Duration.between(entry.getCreatedAt(), now));
+        }
+        notificationRepository.insertAll(notifications);
+        notificationRepository.deleteFromOutbox(ids);
+        dispatchedCounter.increment(notifications.size());
+        LOG.debug("Dispatched {} notifications from the outbox", notifications.size());
+        return notifications;
+    }
+
+    private String render(OutboxEntry entry, Category category, NumberFormat numberFormat) {
+        return switch (entry.getNotificationType()) {
+            case WARNING -> formatWarningMessage(entry, category, numberFormat);
+            case COMPLETE -> formatIncomeMessage(entry, category, numberFormat);
+            case BUDGET_EXCEEDED -> formatExpenseMessage(entry, category, numberFormat);
+            default -> null;
+        };
+    }
+
+    private String formatWarningMessage(OutboxEntry entry, Category category, NumberFormat numberFormat) {
+        String budgetAmountFormatted = numberFormat.format(entry.getBudgetAmount());
+        String startDateFormatted = DATE_FORMATTER.format(entry.getStartDate());
+        String endDateFormatted = DATE_FORMATTER.format(entry.getEndDate());
+        return String.format(
+            "Cảnh báo! Bạn sắp vượt chi tiêu ngân sách có khối lượng %s₫ trong khoảng thời gian đã thiết lập từ %s đến %s của danh mục %s %s",
+            budgetAmountFormatted,
+            startDateFormatted,
+            endDateFormatted,
+            categoryIcon(category),
+            categoryName(category)
+        );
+    }
+
+    private String formatIncomeMessage(OutboxEntry entry, Category category, NumberFormat numberFormat) {
+        String budgetAmountFormatted = numberFormat.format(entry.getBudgetAmount());
+        String startDateFormatted = DATE_FORMATTER.format(entry.getStartDate());
+        String endDateFormatted = DATE_FORMATTER.format(entry.getEndDate());
+        String transactionDateFormatted = DATE_FORMATTER.format(entry.getTransactionDate());
+        return String.format(
+            "Bạn đã hoàn thành mục tiêu ngân sách với khối lượng %s₫ trong khoảng thời gian đã thiết lập từ %s đến %s vào ngày %s của danh mục %s %s",
+            budgetAmountFormatted,
+            startDateFormatted,
+            endDateFormatted,
+            transactionDateFormatted,
+            categoryIcon(category),
+            categoryName(category)
+        );
+    }
+
+    private String formatExpenseMessage(OutboxEntry entry, Category category, NumberFormat numberFormat) {
+        String budgetAmountFormatted = numberFormat.format(entry.getBudgetAmount());
+        String exceededAmountFormatted = numberFormat.format(entry.getSpentAmount().subtract(entry.getBudgetAmount()));
+        String startDateFormatted = DATE_FORMATTER.format(entry.getStartDate());
+        String endDateFormatted = DATE_FORMATTER.format(entry.getEndDate());
+        return String.format(
+            "Bạn đã chi tiêu vượt quá ngân sách có khối lượng %s₫ với số tiền vượt là %s₫ trong khoảng thời gian đã thiết lập từ %s đến %s của danh mục %s %s",
+            budgetAmountFormatted,
+            exceededAmountFormatted,
+            startDateFormatted,
+            endDateFormatted,
+            categoryIcon(category),
+            categoryName(category)
+        );
+    }
+
+    // The category may have been deleted since the check
+    private static String categoryIcon(Category category) {
+        return category != null ? category.getCategoryIcon() : "";
+    }
+
+    private static String categoryName(Category category) {
+        return category != null ? category.getCategoryName() : "";
+    }
+}
@@ -0,0 +1,64 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes the read notifications older than the retention period.
+ * <p>
+ * Rows are deleted {@code batchSize} at a time, each batch in its own
+ * transaction, so a large backlog never holds the locks of one big delete.
+ * Unread notifications are kept whatever their age, so the unread counts
+ * are not affected.
+ */
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties.NotificationRetention settings;
+
+    private final Counter prunedCounter;
+
+    public NotificationRetentionJob(
+        NotificationRepository notificationRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = applicationProperties.getNotificationRetention();
+        this.prunedCounter = Counter.builder("notification.retention.pruned")
+            .description("Read notifications deleted after the retention period")
+            .register(registry);
+    }
+
+    @Scheduled(cron = "${application.notification-retention.prune-cron:0 30 3 * * *}")
+    public void prune() {
+        int batchSize = Math.max(1, settings.getBatchSize());
+        Instant before = Instant.now().minus(settings.getKeep());
+        int pruned = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> notificationRepository.deleteReadCreatedBefore(before, batchSize));
+            int count = deleted != null ? deleted : 0;
+            pruned += count;
+            prunedCounter.increment(count);
+            if (count < batchSize) {
+                break;
+            }
+        }
+        LOG.info("NOTIFICATION: pruned {} read notifications created before {}", pruned, before);
+    }
+}
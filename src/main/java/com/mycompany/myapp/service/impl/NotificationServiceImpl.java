@@ -5,28 +5,29 @@ import com.mycompany.myapp.domain.enumeration.BudgeStatus;
 import com.mycompany.myapp.domain.enumeration.NotificationType;
 import com.mycompany.myapp.domain.enumeration.TransactionType;
 import com.mycompany.myapp.repository.BudgetRepository;
+import com.mycompany.myapp.repository.NotificationOutboxRepository;
 import com.mycompany.myapp.repository.NotificationRepository;
-import com.mycompany.myapp.repository.TransactionRepository;
 import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.NotificationQueuedEvent;
 import com.mycompany.myapp.service.NotificationService;
 import com.mycompany.myapp.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
-import java.text.NumberFormat;
 import java.time.Instant;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Service
 @Transactional
@@ -34,27 +35,34 @@ public class NotificationServiceImpl implements NotificationService {
 
     private static final Logger LOG = LoggerFactory.getLogger(NotificationServiceImpl.class);
     private static final BigDecimal WARNING_THRESHOLD = new BigDecimal("0.85");
-    private static final NumberFormat NUMBER_FORMAT = NumberFormat.getNumberInstance(new Locale("vi", "VN"));
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy").withZone(ZoneId.systemDefault());
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
-    private final TransactionRepository transactionRepository;
     private final BudgetRepository budgetRepository;
+    private final BudgetEvaluator budgetEvaluator;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationStreamRegistry notificationStreamRegistry;
+    private final NotificationUnreadCounter unreadCounter;
 
     public NotificationServiceImpl(
         NotificationRepository notificationRepository,
         UserRepository userRepository,
-        TransactionRepository transactionRepository,
         BudgetRepository budgetRepository,
-        UserService userService
+        BudgetEvaluator budgetEvaluator,
+        UserService userService,
+        ApplicationEventPublisher eventPublisher,
+        NotificationStreamRegistry notificationStreamRegistry,
+        NotificationUnreadCounter unreadCounter
     ) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
-        this.transactionRepository = transactionRepository;
         this.budgetRepository = budgetRepository;
+        this.budgetEvaluator = budgetEvaluator;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
+        this.notificationStreamRegistry = notificationStreamRegistry;
+        this.unreadCounter = unreadCounter;
     }
 
     @Override
@@ -67,7 +75,12 @@ public class NotificationServiceImpl implements NotificationService {
                 currentUser.ifPresent(notification::setUser);
             }
         }
-        return notificationRepository.save(notification);
+        Notification result = notificationRepository.save(notification);
+        if (result.getUser() != null) {
+            unreadCounter.added(List.of(result));
+            notificationStreamRegistry.pushAfterCommit(result);
+        }
+        return result;
     }
 
     @Override
@@ -76,7 +89,12 @@ public class NotificationServiceImpl implements NotificationService {
         if (notification.getId() == null) {
             throw new IllegalArgumentException("Notification ID cannot be null for update");
         }
-        return notificationRepository.save(notification);
+        notificationRepository.findUserIdById(notification.getId()).ifPresent(unreadCounter::invalidate);
+        Notification result = notificationRepository.save(notification);
+        if (result.getUser() != null) {
+            unreadCounter.invalidate(result.getUser().getId());
+        }
+        return result;
     }
 
     @Override
@@ -94,6 +112,9 @@ public class NotificationServiceImpl implements NotificationService {
                 }
                 if (notification.getIsRead() != null) {
                     existingNotification.setIsRead(notification.getIsRead());
+                    if (existingNotification.getUser() != null) {
+                        unreadCounter.invalidate(existingNotification.getUser().getId());
+                    }
                 }
                 if (notification.getCreatedAt() != null) {
                     existingNotification.setCreatedAt(notification.getCreatedAt());
@@ -118,31 +139,61 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete Notification : {}", id);
+        notificationRepository.findUserIdById(id).ifPresent(unreadCounter::invalidate);
         notificationRepository.deleteById(id);
     }
 
     @Override
-    public void createNotificationForTransaction(Long userId, Transaction transaction) {
-        LOG.debug("Checking transaction for notification: {}", transaction);
+    @Transactional(readOnly = true)
+    public long countUnread(Long userId) {
+        return unreadCounter.count(userId);
+    }
 
-        User user = userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found for userId: " + userId));
-        List<Budget> matchingBudgets = findMatchingBudgets(transaction);
-        processBudgetsForNotification(user, transaction, matchingBudgets);
+    @Override
+    public int markRead(Long userId, Collection<Long> ids) {
+        LOG.debug("Request to mark Notifications {} of userId {} as read", ids, userId);
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("No notification to mark as read");
+        }
+        return invalidateIfMarked(userId, notificationRepository.markReadByUserIdAndIdIn(userId, ids));
     }
 
     @Override
-    public void createWarningNotificationForTransaction(Long userId, Transaction transaction) {
-        LOG.debug("Checking transaction for warning notification: {}", transaction);
+    public int markAllRead(Long userId) {
+        LOG.debug("Request to mark all Notifications of userId {} as read", userId);
+        return invalidateIfMarked(userId, notificationRepository.markAllReadByUserId(userId));
+    }
 
-        User user = userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found for userId: " + userId));
-        List<Budget> matchingBudgets = findMatchingBudgets(transaction);
-        createNotificationsForBudgets(user, transaction, matchingBudgets);
+    private int invalidateIfMarked(Long userId, int marked) {
+        if (marked > 0) {
+            unreadCounter.invalidate(userId);
+        }
+        return marked;
     }
 
-    private void createNotificationsForBudgets(User user, Transaction transaction, List<Budget> matchingBudgets) {
-        for (Budget budget : matchingBudgets) {
-            BigDecimal totalSpent = calculateTotalSpent(budget, transaction);
-            if (shouldCreateWarning(totalSpent, budget, transaction)) {
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter subscribe(Long userId) {
+        LOG.debug("Request to stream the Notifications of userId: {}", userId);
+        return notificationStreamRegistry.subscribe(userId);
+    }
+
+    @Override
+    public void evaluateBudgetsForTransaction(Long userId, Transaction transaction) {
+        LOG.debug("Checking transaction for budget notifications: {}", transaction);
+
+        List<BudgetEvaluator.Evaluation> evaluations = budgetEvaluator.evaluate(transaction);
+        if (evaluations.isEmpty()) {
+            return;
+        }
+        User user = userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found for userId: " + userId));
+        for (BudgetEvaluator.Evaluation evaluation : evaluations) {
+            Budget budget = evaluation.getBudget();
+            BigDecimal totalSpent = evaluation.getSpent();
+            // A budget that ends here is no longer active, so it gets no warning either
+            if (totalSpent.compareTo(budget.getBudgetAmount()) >= 0) {
+                processBudgetForNotification(user, transaction, budget, totalSpent);
+            } else if (shouldCreateWarning(totalSpent, budget, transaction)) {
                 createBudgetWarningNotification(user, budget, totalSpent, transaction);
             } else {
                 logNoNotificationCreated(budget, totalSpent);
@@ -150,13 +201,36 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
-    private BigDecimal calculateTotalSpent(Budget budget, Transaction transaction) {
-        return transactionRepository.sumAmountByCategoryIdAndUserIdAndDateRange(
-            transaction.getCategory().getId(),
-            transaction.getUser().getId(),
-            budget.getStartDate(),
-            budget.getEndDate()
-        );
+    @Override
+    public void createNotificationForTransaction(Long userId, Transaction transaction) {
+        LOG.debug("Checking transaction for notification: {}", transaction);
+
+        List<BudgetEvaluator.Evaluation> evaluations = budgetEvaluator.evaluate(transaction);
+        if (evaluations.isEmpty()) {
+            return;
+        }
+        User user = userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found for userId: " + userId));
+        for (BudgetEvaluator.Evaluation evaluation : evaluations) {
+            processBudgetForNotification(user, transaction, evaluation.getBudget(), evaluation.getSpent());
+        }
+    }
+
+    @Override
+    public void createWarningNotificationForTransaction(Long userId, Transaction transaction) {
+        LOG.debug("Checking transaction for warning notification: {}", transaction);
+
+        List<BudgetEvaluator.Evaluation> evaluations = budgetEvaluator.evaluate(transaction);
+        if (evaluations.isEmpty()) {
+            return;
+        }
+        User user = userRepository.findById(userId).orElseThrow(() -> new EntityNotFoundException("User not found for userId: " + userId));
+        for (BudgetEvaluator.Evaluation evaluation : evaluations) {
+            if (shouldCreateWarning(evaluation.getSpent(), evaluation.getBudget(), transaction)) {
+                createBudgetWarningNotification(user, evaluation.getBudget(), evaluation.getSpent(), transaction);
+            } else {
+                logNoNotificationCreated(evaluation.getBudget(), evaluation.getSpent());
+            }
+        }
     }
 
     private boolean shouldCreateWarning(BigDecimal totalSpent, Budget budget, Transaction transaction) {
@@ -176,15 +250,7 @@ public class NotificationServiceImpl implements NotificationService {
             budget.getBudgetAmount()
         );
 
-        String message = formatWarningMessage(budget, transaction.getCategory());
-        Notification notification = new Notification()
-            .message(message)
-            .notificationType(NotificationType.WARNING)
-            .isRead(false)
-            .createdAt(Instant.now())
-            .user(user);
-
-        notificationRepository.save(notification);
+        queueNotification(user, budget, totalSpent, transaction, NotificationType.WARNING);
         LOG.debug(
             "Notification created for budget: {} because total spent {} reaches or exceeds 85% of budget amount {}",
             budget.getId(),
@@ -193,31 +259,19 @@ public class NotificationServiceImpl implements NotificationService {
         );
     }
 
-    private List<Budget> findMatchingBudgets(Transaction transaction) {
-        return notificationRepository.findMatchingBudgetsWithTransactionDate(
-            transaction.getCategory().getId(),
-            transaction.getUser().getId(),
-            transaction.getTransactionDate()
-        );
-    }
-
-    private void processBudgetsForNotification(User user, Transaction transaction, List<Budget> matchingBudgets) {
-        for (Budget budget : matchingBudgets) {
-            BigDecimal totalSpent = calculateTotalSpent(budget, transaction);
-            if (transaction.getTransactionType() == TransactionType.INCOME) {
-                handleIncomeTransaction(user, budget, totalSpent, transaction);
-            } else if (transaction.getTransactionType() == TransactionType.EXPENSE) {
-                handleExpenseTransaction(user, budget, totalSpent, transaction);
-            } else {
-                logNoNotificationCreated(budget, totalSpent);
-            }
+    private void processBudgetForNotification(User user, Transaction transaction, Budget budget, BigDecimal totalSpent) {
+        if (transaction.getTransactionType() == TransactionType.INCOME) {
+            handleIncomeTransaction(user, budget, totalSpent, transaction);
+        } else if (transaction.getTransactionType() == TransactionType.EXPENSE) {
+            handleExpenseTransaction(user, budget, totalSpent, transaction);
+        } else {
+            logNoNotificationCreated(budget, totalSpent);
         }
     }
 
     private void handleIncomeTransaction(User user, Budget budget, BigDecimal totalSpent, Transaction transaction) {
         if (totalSpent.compareTo(budget.getBudgetAmount()) >= 0) {
-            String message = formatIncomeMessage(budget, transaction);
-            createNotification(user, budget, message, NotificationType.COMPLETE);
+            queueNotification(user, budget, totalSpent, transaction, NotificationType.COMPLETE);
             updateBudgetStatus(budget, BudgeStatus.ENDED);
             LOG.debug("Notification created for INCOME transaction: {} with budget: {}", transaction.getId(), budget.getId());
         } else {
@@ -233,8 +287,7 @@ public class NotificationServiceImpl implements NotificationService {
                 totalSpent,
                 budget.getBudgetAmount()
             );
-            String message = formatExpenseMessage(budget, totalSpent, transaction.getCategory());
-            createNotification(user, budget, message, NotificationType.BUDGET_EXCEEDED);
+            queueNotification(user, budget, totalSpent, transaction, NotificationType.BUDGET_EXCEEDED);
             updateBudgetStatus(budget, BudgeStatus.ENDED);
             LOG.debug(
                 "Notification created for budget: {} because total spent {} exceeds budget amount {}",
@@ -247,60 +300,25 @@ public class NotificationServiceImpl implements NotificationService {
         }
     }
 
-    private String formatWarningMessage(Budget budget, Category category) {
-        String budgetAmountFormatted = NUMBER_FORMAT.format(budget.getBudgetAmount());
-        String startDateFormatted = DATE_FORMATTER.format(budget.getStartDate());
-        String endDateFormatted = DATE_FORMATTER.format(budget.getEndDate());
-        return String.format(
-            "Cảnh báo! Bạn sắp vượt chi tiêu ngân sách có khối lượng %s₫ trong khoảng thời gian đã thiết lập từ %s đến %s của danh mục %s %s",
-            budgetAmountFormatted,
-            startDateFormatted,
-            endDateFormatted,
-            category.getCategoryIcon(),
-            category.getCategoryName()
-        );
-    }
-
-    private String formatIncomeMessage(Budget budget, Transaction transaction) {
-        String budgetAmountFormatted = NUMBER_FORMAT.format(budget.getBudgetAmount());
-        String startDateFormatted = DATE_FORMATTER.format(budget.getStartDate());
-        String endDateFormatted = DATE_FORMATTER.format(budget.getEndDate());
-        String transactionDateFormatted = DATE_FORMATTER.format(transaction.getTransactionDate());
-        return String.format(
-            "Bạn đã hoàn thành mục tiêu ngân sách với khối lượng %s₫ trong khoảng thời gian đã thiết lập từ %s đến %s vào ngày %s của danh mục %s %s",
-            budgetAmountFormatted,
-            startDateFormatted,
-            endDateFormatted,
-            transactionDateFormatted,
-            budget.getCategory().getCategoryIcon(),
-            budget.getCategory().getCategoryName()
+    /**
+     * Append the notification to the outbox with the figures it is rendered
+     * from; {@link NotificationDispatcher} inserts it once this transaction commits.
+     */
+    private void queueNotification(User user, Budget budget, BigDecimal totalSpent, Transaction transaction, NotificationType type) {
+        notificationRepository.appendToOutbox(
+            new NotificationOutboxRepository.OutboxEntry()
+                .userId(user.getId())
+                .notificationType(type)
+                .budgetId(budget.getId())
+                .categoryId(budget.getCategory() != null ? budget.getCategory().getId() : null)
+                .budgetAmount(budget.getBudgetAmount())
+                .spentAmount(totalSpent)
+                .startDate(budget.getStartDate())
+                .endDate(budget.getEndDate())
+                .transactionDate(transaction.getTransactionDate())
+                .createdAt(Instant.now())
         );
-    }
-
-    private String formatExpenseMessage(Budget budget, BigDecimal totalSpent, Category category) {
-        String budgetAmountFormatted = NUMBER_FORMAT.format(budget.getBudgetAmount());
-        String exceededAmountFormatted = NUMBER_FORMAT.format(totalSpent.subtract(budget.getBudgetAmount()));
-        String startDateFormatted = DATE_FORMATTER.format(budget.getStartDate());
-        String endDateFormatted = DATE_FORMATTER.format(budget.getEndDate());
-        return String.format(
-            "Bạn đã chi tiêu vượt quá ngân sách có khối lượng %s₫ với số tiền vượt là %s₫ trong khoảng thời gian đã thiết lập từ %s đến %s của danh mục %s %s",
-            budgetAmountFormatted,
-            exceededAmountFormatted,
-            startDateFormatted,
-            endDateFormatted,
-            category.getCategoryIcon(),
-            category.getCategoryName()
-        );
-    }
-
-    private void createNotification(User user, Budget budget, String message, NotificationType notificationType) {
-        Notification notification = new Notification()
-            .message(message)
-            .notificationType(notificationType)
-            .isRead(false)
-            .createdAt(Instant.now())
-            .user(user);
-        notificationRepository.save(notification);
+        eventPublisher.publishEvent(new NotificationQueuedEvent(user.getId()));
     }
 
     private void updateBudgetStatus(Budget budget, BudgeStatus status) {
@@ -0,0 +1,153 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Notification;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Open notification streams of the users, for Server-Sent Events.
+ * <p>
+ * A stream is an async request parked by the servlet container, it holds no
+ * thread while idle. New notifications are pushed to every stream of their
+ * user as a {@code notification} event; the client reloads its list when it
+ * gets one instead of polling. A comment is sent on every stream regularly so
+ * that proxies keep the connection open and dead connections are dropped.
+ * <p>
+ * The registry only knows the streams of this instance.
+ */
+@Component
+public class NotificationStreamRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationStreamRegistry.class);
+
+    private static final String EVENT_NAME = "notification";
+
+    private final ApplicationProperties.NotificationStream settings;
+
+    // userId -> open streams, oldest first
+    private final Map<Long, Queue<SseEmitter>> streams = new ConcurrentHashMap<>();
+
+    public NotificationStreamRegistry(ApplicationProperties applicationProperties, MeterRegistry registry) {
+        this.settings = applicationProperties.getNotificationStream();
+        Gauge.builder("notification.stream.subscribers", this, NotificationStreamRegistry::subscriberCount)
+            .description("Open notification streams")
+            .register(registry);
+    }
+
+    /**
+     * Open a stream for the user; the oldest stream is closed when the user
+     * already has {@code maxStreamsPerUser} open.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(settings.getTimeout().toMillis());
+        Queue<SseEmitter> userStreams = streams.compute(userId, (id, current) -> {
+            Queue<SseEmitter> queue = current != null ? current : new ConcurrentLinkedQueue<>();
+            queue.add(emitter);
+            return queue;
+        });
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+
+        while (userStreams.size() > Math.max(1, settings.getMaxStreamsPerUser())) {
+            SseEmitter oldest = userStreams.poll();
+            if (oldest != null) {
+                oldest.complete();
+            }
+        }
+        // Commits the response, so the client knows the stream is open
+        send(userId, emitter, SseEmitter.event().comment("connected"));
+        LOG.debug("Opened a notification stream for userId: {}", userId);
+        return emitter;
+    }
+
+    /**
+     * Push new notifications to the streams of their users.
+     */
+    public void push(Collection<Notification> notifications) {
+        if (streams.isEmpty()) {
+            return;
+        }
+        for (Notification notification : notifications) {
+            Long userId = notification.getUser().getId();
+            Queue<SseEmitter> userStreams = streams.get(userId);
+            if (userStreams == null) {
+                continue;
+            }
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("notificationType", notification.getNotificationType());
+            payload.put("message", notification.getMessage());
+            payload.put("createdAt", notification.getCreatedAt());
+            for (SseEmitter emitter : userStreams) {
+                send(userId, emitter, SseEmitter.event().name(EVENT_NAME).data(payload, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    /**
+     * Push a notification once the running transaction commits, or right away
+     * without a transaction.
+     */
+    public void pushAfterCommit(Notification notification) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            push(List.of(notification));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    push(List.of(notification));
+                }
+            }
+        );
+    }
+
+    @Scheduled(fixedDelay = 25, timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        streams.forEach((userId, userStreams) -> {
+            for (SseEmitter emitter : userStreams) {
+                send(userId, emitter, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The client went away, the container reports it to the callbacks too
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (id, userStreams) -> {
+            userStreams.remove(emitter);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+
+    private double subscriberCount() {
+        return streams.values().stream().mapToInt(Queue::size).sum();
+    }
+}
@@ -0,0 +1,130 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Notification;
+import com.mycompany.myapp.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Unread notification count per user, kept in a bounded in-memory cache.
+ * <p>
+ * A miss counts the unread rows of the user once, on the (user_id, is_read)
+ * index; new notifications then increment the cached count, and any other
+ * write to the notifications of a user drops it. Changes are applied once
+ * their transaction commits. A count loaded while a write committed may
+ * already be stale, so it is only cached when no write happened meanwhile.
+ * <p>
+ * The least recently used users are evicted past {@code cacheSize}. The cache
+ * only knows the writes of this instance.
+ */
+@Component
+public class NotificationUnreadCounter {
+
+    private final NotificationRepository notificationRepository;
+    private final Map<Long, Long> counts;
+    private final AtomicLong writes = new AtomicLong();
+
+    private final Counter hitsCounter;
+    private final Counter missesCounter;
+
+    public NotificationUnreadCounter(
+        NotificationRepository notificationRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.notificationRepository = notificationRepository;
+        int cacheSize = Math.max(1, applicationProperties.getNotificationUnread().getCacheSize());
+        this.counts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.hitsCounter = Counter.builder("notification.unread.cache")
+            .tag("result", "hit")
+            .description("Unread notification counts served from the cache or counted")
+            .register(registry);
+        this.missesCounter = Counter.builder("notification.unread.cache")
+            .tag("result", "miss")
+            .description("Unread notification counts served from the cache or counted")
+            .register(registry);
+    }
+
+    public long count(Long userId) {
+        synchronized (counts) {
+            Long cached = counts.get(userId);
+            if (cached != null) {
+                hitsCounter.increment();
+                return cached;
+            }
+        }
+        missesCounter.increment();
+        long writesBefore = writes.get();
+        long count = notificationRepository.countUnreadByUserId(userId);
+        synchronized (counts) {
+            if (writes.get() == writesBefore) {
+                counts.put(userId, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count new unread notifications, once they are committed.
+     */
+    public void added(Collection<Notification> notifications) {
+        Map<Long, Long> added = new HashMap<>();
+        for (Notification notification : notifications) {
+            if (notification.getUser() != null && !Boolean.TRUE.equals(notification.getIsRead())) {
+                added.merge(notification.getUser().getId(), 1L, Long::sum);
+            }
+        }
+        if (!added.isEmpty()) {
+            afterCommit(() -> {
+                synchronized (counts) {
+                    writes.incrementAndGet();
+                    added.forEach((userId, delta) -> counts.computeIfPresent(userId, (id, count) -> count + delta));
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop the count of a user whose notifications changed, once committed.
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (counts) {
+                writes.incrementAndGet();
+                counts.remove(userId);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+}
@@ -0,0 +1,262 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.domain.Transaction;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads OFX statements, both the SGML (1.x) and the XML (2.x) flavour.
+ * <p>
+ * The file is scanned tag by tag; the elements of each {@code <STMTTRN>}
+ * aggregate are collected and turned into a transaction when it closes. SGML
+ * elements have no end tag, so a value runs up to the next tag.
+ * <p>
+ * The file is decoded with the encoding it declares: the {@code encoding} of the
+ * XML prolog for 2.x, the {@code ENCODING} and {@code CHARSET} header lines for
+ * 1.x. A 1.x file in US-ASCII without a usable charset is read as windows-1252,
+ * what banks almost always send.
+ */
+@Component
+@Order(2)
+public class OfxStatementHandler implements StatementFormatHandler {
+
+    private static final String BOM = "\u00EF\u00BB\u00BF";
+    private static final int MAX_VALUE_LENGTH = 1024;
+    private static final int HEADER_LENGTH = 4096;
+
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+    private static final Pattern XML_ENCODING = Pattern.compile(
+        "<\\?xml[^>]*encoding\\s*=\\s*[\"']([^\"']+)[\"']",
+        Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern SGML_ENCODING = Pattern.compile(
+        "^\\s*ENCODING\\s*:\\s*(\\S+)",
+        Pattern.CASE_INSENSITIVE | Pattern.MULTILINE
+    );
+    private static final Pattern SGML_CHARSET = Pattern.compile(
+        "^\\s*CHARSET\\s*:\\s*(\\S+)",
+        Pattern.CASE_INSENSITIVE | Pattern.MULTILINE
+    );
+
+    @Override
+    public String name() {
+        return "ofx";
+    }
+
+    @Override
+    public boolean supports(byte[] head) {
+        String text = new String(head, StandardCharsets.ISO_8859_1);
+        if (text.startsWith(BOM)) {
+            text = text.substring(BOM.length());
+        }
+        text = text.stripLeading().toUpperCase(Locale.ROOT);
+        return text.startsWith("OFXHEADER") || text.contains("<?OFX") || text.contains("<OFX>");
+    }
+
+    @Override
+    public int parse(Path file, TransactionImportParser.RowSink sink) throws IOException {
+        Charset charset = detectCharset(file);
+        try (Reader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file), charset))) {
+            StringBuilder tag = new StringBuilder();
+            StringBuilder text = new StringBuilder();
+            boolean inTag = false;
+            String element = null;
+            Map<String, String> fields = null;
+            int rowNum = 0;
+            int emitted = 0;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (!inTag) {
+                    if (c == '<') {
+                        if (element != null && fields != null) {
+                            fields.putIfAbsent(element, decode(text.toString().trim()));
+                        }
+                        element = null;
+                        inTag = true;
+                        tag.setLength(0);
+                    } else if (element != null && text.length() < MAX_VALUE_LENGTH) {
+                        text.append((char) c);
+                    }
+                    continue;
+                }
+                if (c != '>') {
+                    tag.append((char) c);
+                    continue;
+                }
+
+                inTag = false;
+                String name = tag.toString().trim().toUpperCase(Locale.ROOT);
+                if (name.equals("STMTTRN")) {
+                    fields = new HashMap<>();
+                } else if (name.equals("/STMTTRN")) {
+                    if (fields != null) {
+                        Transaction tx = toTransaction(fields);
+                        if (tx != null) {
+                            sink.accept(tx);
+                            emitted++;
+                        } else {
+                            sink.skipped(rowNum);
+                        }
+                        rowNum++;
+                    }
+                    fields = null;
+                } else if (!name.startsWith("/") && !name.startsWith("?") && !name.startsWith("!")) {
+                    element = name;
+                    text.setLength(0);
+                }
+            }
+            return emitted;
+        }
+    }
+
+    /**
+     * The charset declared by the header of the file; the header itself is ASCII.
+     */
+    private static Charset detectCharset(Path file) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(file)) {
+            head = in.readNBytes(HEADER_LENGTH);
+        }
+        String text = new String(head, StandardCharsets.ISO_8859_1);
+        if (text.startsWith(BOM)) {
+            return StandardCharsets.UTF_8;
+        }
+
+        Matcher xml = XML_ENCODING.matcher(text);
+        if (xml.find()) {
+            return charsetOrDefault(xml.group(1), StandardCharsets.UTF_8);
+        }
+        if (text.contains("<?xml") || text.contains("<?XML")) {
+            return StandardCharsets.UTF_8;
+        }
+
+        Matcher encoding = SGML_ENCODING.matcher(text);
+        String declared = encoding.find() ? encoding.group(1).toUpperCase(Locale.ROOT) : "USASCII";
+        if (declared.equals("UTF-8") || declared.equals("UNICODE")) {
+            return StandardCharsets.UTF_8;
+        }
+        Matcher charset = SGML_CHARSET.matcher(text);
+        if (!charset.find()) {
+            return WINDOWS_1252;
+        }
+        String name = charset.group(1).toUpperCase(Locale.ROOT);
+        if (name.equals("NONE")) {
+            return WINDOWS_1252;
+        }
+        // 1.x names Windows code pages by their number, e.g. CHARSET:1252
+        if (name.chars().allMatch(Character::isDigit)) {
+            name = "windows-" + name;
+        } else if (name.startsWith("8859-")) {
+            name = "ISO-" + name;
+        }
+        return charsetOrDefault(name, WINDOWS_1252);
+    }
+
+    private static Charset charsetOrDefault(String name, Charset fallback) {
+        try {
+            return Charset.forName(name.trim());
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return fallback;
+        }
+    }
+
+    private Transaction toTransaction(Map<String, String> fields) {
+        Instant date = parseDate(fields.get("DTPOSTED"));
+        BigDecimal amount = parseAmount(fields.get("TRNAMT"));
+        if (date == null || amount == null) return null;
+
+        String memo = fields.get("MEMO");
+        String description = memo != null && !memo.isEmpty() ? memo : fields.getOrDefault("NAME", "");
+        if (amount.signum() < 0) {
+            return StatementRowMapper.buildTransaction(date, amount.negate(), null, description);
+        }
+        return StatementRowMapper.buildTransaction(date, null, amount, description);
+    }
+
+    /**
+     * Reads {@code YYYYMMDD[HHMMSS[.XXX]][[gmt offset[:tz name]]]}; without an
+     * offset the value is in GMT, as the OFX specification says.
+     */
+    private Instant parseDate(String value) {
+        if (value == null || value.isEmpty()) return null;
+
+        try {
+            String text = value;
+            ZoneOffset offset = ZoneOffset.UTC;
+            int bracket = text.indexOf('[');
+            if (bracket >= 0) {
+                String zone = text.substring(bracket + 1).replace("]", "");
+                int colon = zone.indexOf(':');
+                String hours = colon >= 0 ? zone.substring(0, colon) : zone;
+                offset = ZoneOffset.ofTotalSeconds(new BigDecimal(hours.trim()).multiply(BigDecimal.valueOf(3600)).intValue());
+                text = text.substring(0, bracket);
+            }
+            int dot = text.indexOf('.');
+            if (dot >= 0) {
+                text = text.substring(0, dot);
+            }
+            text = text.trim();
+            if (text.length() < 8) return null;
+
+            LocalDate date = LocalDate.of(
+                Integer.parseInt(text.substring(0, 4)),
+                Integer.parseInt(text.substring(4, 6)),
+                Integer.parseInt(text.substring(6, 8))
+            );
+            LocalTime time = LocalTime.MIDNIGHT;
+            if (text.length() >= 14) {
+                time = LocalTime.of(
+                    Integer.parseInt(text.substring(8, 10)),
+                    Integer.parseInt(text.substring(10, 12)),
+                    Integer.parseInt(text.substring(12, 14))
+                );
+            } else if (text.length() >= 12) {
+                time = LocalTime.of(Integer.parseInt(text.substring(8, 10)), Integer.parseInt(text.substring(10, 12)));
+            }
+            return LocalDateTime.of(date, time).toInstant(offset);
+        } catch (DateTimeException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private BigDecimal parseAmount(String value) {
+        if (value == null || value.isEmpty()) return null;
+        try {
+            // OFX allows a comma as the decimal separator, never as a thousands separator
+            return new BigDecimal(value.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String decode(String value) {
+        if (value.indexOf('&') < 0) {
+            return value;
+        }
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&apos;", "'").replace("&amp;", "&");
+    }
+}
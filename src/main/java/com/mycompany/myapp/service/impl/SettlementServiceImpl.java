@@ -1,8 +1,18 @@
 package com.mycompany.myapp.service.impl;
 
+import com.mycompany.myapp.domain.Event;
+import com.mycompany.myapp.domain.Member;
 import com.mycompany.myapp.domain.Settlement;
+import com.mycompany.myapp.repository.EventBalanceRepository;
+import com.mycompany.myapp.repository.EventRepository;
 import com.mycompany.myapp.repository.SettlementRepository;
+import com.mycompany.myapp.service.Cents;
+import com.mycompany.myapp.service.SettlementPlanner;
 import com.mycompany.myapp.service.SettlementService;
+import com.mycompany.myapp.service.dto.SettlementPlanDTO;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,9 +29,17 @@ public class SettlementServiceImpl implements SettlementService {
     private static final Logger LOG = LoggerFactory.getLogger(SettlementServiceImpl.class);
 
     private final SettlementRepository settlementRepository;
+    private final EventBalanceRepository eventBalanceRepository;
+    private final EventRepository eventRepository;
 
-    public SettlementServiceImpl(SettlementRepository settlementRepository) {
+    public SettlementServiceImpl(
+        SettlementRepository settlementRepository,
+        EventBalanceRepository eventBalanceRepository,
+        EventRepository eventRepository
+    ) {
         this.settlementRepository = settlementRepository;
+        this.eventBalanceRepository = eventBalanceRepository;
+        this.eventRepository = eventRepository;
     }
 
     @Override
@@ -64,4 +82,58 @@ public class SettlementServiceImpl implements SettlementService {
         LOG.debug("Request to delete Settlement : {}", id);
         settlementRepository.deleteById(id);
     }
+
+    @Override
+    public Optional<SettlementPlanDTO> planForEvent(Long eventId, boolean persist) {
+        LOG.debug("Request to plan the Settlements of Event : {}, persist: {}", eventId, persist);
+        if (!eventRepository.existsById(eventId)) {
+            return Optional.empty();
+        }
+        List<EventBalanceRepository.MemberTotals> balances = eventBalanceRepository.findTotalsByEventId(eventId);
+        long[] memberIds = new long[balances.size()];
+        long[] balanceCents = new long[balances.size()];
+        for (int i = 0; i < balances.size(); i++) {
+            EventBalanceRepository.MemberTotals totals = balances.get(i);
+            memberIds[i] = totals.getMemberId();
+            balanceCents[i] = Cents.fromAmount(totals.getPaid().subtract(totals.getShouldPay()));
+        }
+        SettlementPlanner planner = SettlementPlanner.plan(memberIds, balanceCents);
+
+        SettlementPlanDTO plan = new SettlementPlanDTO();
+        plan.setEventId(eventId);
+        List<SettlementPlanDTO.Transfer> transfers = new ArrayList<>(planner.size());
+        for (int i = 0; i < planner.size(); i++) {
+            transfers.add(
+                new SettlementPlanDTO.Transfer(
+                    planner.getFromMemberId(i),
+                    planner.getToMemberId(i),
+                    Cents.toAmount(planner.getAmountCents(i))
+                )
+            );
+        }
+        plan.setTransfers(transfers);
+        plan.setUnsettledAmount(Cents.toAmount(planner.getUnsettledCents()));
+
+        if (persist) {
+            replaceSettlements(eventId, transfers);
+            plan.setPersisted(true);
+        }
+        return Optional.of(plan);
+    }
+
+    private void replaceSettlements(Long eventId, List<SettlementPlanDTO.Transfer> transfers) {
+        Event event = new Event();
+        event.setId(eventId);
+        List<Settlement> settlements = new ArrayList<>(transfers.size());
+        for (SettlementPlanDTO.Transfer transfer : transfers) {
+            Member from = new Member();
+            from.setId(transfer.getFromMemberId());
+            Member to = new Member();
+            to.setId(transfer.getToMemberId());
+            settlements.add(new Settlement().event(event).fromMember(from).toMember(to).amount(transfer.getAmount()));
+        }
+        int deleted = settlementRepository.deleteByEventId(eventId);
+        settlementRepository.insertAll(settlements);
+        LOG.debug("Replaced {} settlements of eventId: {} with {}", deleted, eventId, settlements.size());
+    }
 }
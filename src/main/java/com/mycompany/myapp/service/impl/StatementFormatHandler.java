@@ -0,0 +1,30 @@
+package com.mycompany.myapp.service.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Reads one bank statement format. {@link TransactionImportParser} picks the
+ * first handler, in {@link org.springframework.core.annotation.Order} order,
+ * that recognises the beginning of the uploaded file.
+ */
+public interface StatementFormatHandler {
+    /**
+     * Short name of the format, used in logs.
+     */
+    String name();
+
+    /**
+     * Whether a file starting with these bytes is in this format.
+     *
+     * @param head the first bytes of the file, at most {@link TransactionImportParser#SNIFF_LENGTH}.
+     */
+    boolean supports(byte[] head);
+
+    /**
+     * Read the statement, reporting transactions and skipped data rows to {@code sink}.
+     *
+     * @return the number of emitted transactions.
+     */
+    int parse(Path file, TransactionImportParser.RowSink sink) throws IOException;
+}
@@ -0,0 +1,125 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.domain.Transaction;
+import com.mycompany.myapp.domain.enumeration.TransactionType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Header detection and cell conversions shared by the statement format
+ * handlers, so that every format reads columns, dates and amounts the same way.
+ */
+final class StatementRowMapper {
+
+    static final ZoneId VN_ZONE = ZoneId.of("Asia/Ho_Chi_Minh");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("d/M/yyyy");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("d/M/yyyy[ HH:mm]");
+
+    private StatementRowMapper() {}
+
+    // ================= HEADER =================
+    static HeaderAnchor matchHeader(int rowNum, List<String> values) {
+        Integer dateCol = null, debitCol = null, creditCol = null, descCol = null;
+
+        for (int col = 0; col < values.size(); col++) {
+            if (values.get(col) == null) continue;
+            String text = normalize(values.get(col));
+
+            if (text.contains("transaction date") || text.contains("tnx date") || text.contains("doc no")) dateCol = col;
+
+            if (text.contains("debit") || text.contains("ghi nợ") || text.contains("phát sinh nợ")) debitCol = col;
+
+            if (text.contains("credit") || text.contains("ghi có") || text.contains("phát sinh có")) creditCol = col;
+
+            if (text.contains("nội dung") || text.contains("description") || text.contains("transactions in detail")) descCol = col;
+        }
+
+        if (dateCol != null && debitCol != null && creditCol != null && descCol != null) {
+            return new HeaderAnchor(rowNum, dateCol, debitCol, creditCol, descCol);
+        }
+        return null;
+    }
+
+    private static String normalize(String s) {
+        return s.toLowerCase().replace("\n", " ").replace(".", "").replace("/", " ").replaceAll("\\s+", " ").trim();
+    }
+
+    // ================= DATA =================
+    static Transaction toTransaction(String dateText, String debitText, String creditText, String description) {
+        Instant date = parseDate(dateText);
+        if (date == null) return null;
+
+        return buildTransaction(date, parseMoney(debitText), parseMoney(creditText), description);
+    }
+
+    static Transaction buildTransaction(Instant date, BigDecimal debit, BigDecimal credit, String description) {
+        if (debit == null && credit == null) return null;
+
+        Transaction tx = new Transaction();
+        tx.setTransactionDate(date);
+        tx.setDescription(description);
+
+        if (debit != null && debit.compareTo(BigDecimal.ZERO) > 0) {
+            tx.setAmount(debit);
+            tx.setTransactionType(TransactionType.EXPENSE);
+        } else {
+            tx.setAmount(credit);
+            tx.setTransactionType(TransactionType.INCOME);
+        }
+
+        return tx;
+    }
+
+    // ================= PARSERS =================
+    static Instant parseDate(String text) {
+        String raw = text.trim();
+        if (raw.isEmpty()) return null;
+
+        String firstLine = raw.split("\\R")[0].trim();
+
+        try {
+            LocalDateTime dt = LocalDateTime.parse(firstLine, DATE_TIME);
+            return dt.atZone(VN_ZONE).toInstant();
+        } catch (Exception e) {
+            try {
+                LocalDate date = LocalDate.parse(firstLine, DATE);
+                return date.atStartOfDay(VN_ZONE).toInstant();
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+    }
+
+    static BigDecimal parseMoney(String value) {
+        String text = value.replace(",", "").trim();
+        if (text.isEmpty()) return null;
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ================= INNER CLASS =================
+    static final class HeaderAnchor {
+
+        final int headerRow;
+        final int dateCol;
+        final int debitCol;
+        final int creditCol;
+        final int descCol;
+
+        HeaderAnchor(int headerRow, int dateCol, int debitCol, int creditCol, int descCol) {
+            this.headerRow = headerRow;
+            this.dateCol = dateCol;
+            this.debitCol = debitCol;
+            this.creditCol = creditCol;
+            this.descCol = descCol;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.service.SummaryDeltas;
+import com.mycompany.myapp.service.SummaryService;
+import com.mycompany.myapp.service.TransactionChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Applies {@link TransactionChangedEvent}s to the summaries in the background.
+ * <p>
+ * Events are folded per user into a {@link SummaryDeltas}, so a burst of writes
+ * on the same (user, period) results in a single counter update. One drain task
+ * at a time runs on the shared {@code taskExecutor}.
+ * <p>
+ * The changes of a user that fail to apply are queued again and retried by the
+ * periodic poll, up to {@code maxAttempts} times. What is still queued on
+ * shutdown is applied before the application stops.
+ */
+@Component
+public class SummaryProjector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SummaryProjector.class);
+
+    private final SummaryService summaryService;
+    private final Executor taskExecutor;
+    private final int maxAttempts;
+
+    private final Object lock = new Object();
+    private Map<Long, SummaryDeltas> pending = new HashMap<>();
+    private long oldestPendingNanos;
+    // userId -> failed attempts of the changes queued for the user
+    private final Map<Long, Integer> attempts = new HashMap<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private final Counter eventsCounter;
+    private final Counter failuresCounter;
+    private final Counter droppedCounter;
+    private final Timer lagTimer;
+
+    public SummaryProjector(
+        SummaryService summaryService,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.summaryService = summaryService;
+        this.taskExecutor = taskExecutor;
+        this.maxAttempts = Math.max(1, applicationProperties.getSummaryProjection().getMaxAttempts());
+        this.eventsCounter = Counter.builder("summary.projector.events")
+            .description("Transaction changes received by the summary projector")
+            .register(registry);
+        this.failuresCounter = Counter.builder("summary.projector.failures")
+            .description("Per-user summary updates that failed to apply")
+            .register(registry);
+        this.droppedCounter = Counter.builder("summary.projector.dropped")
+            .description("Per-user summary updates dropped after their last attempt")
+            .register(registry);
+        this.lagTimer = Timer.builder("summary.projector.lag")
+            .description("Time between a transaction change and its summary update")
+            .register(registry);
+        Gauge.builder("summary.projector.queue.depth", this, SummaryProjector::queueDepth)
+            .description("Pending (user, period) summary updates")
+            .register(registry);
+        Gauge.builder("summary.projector.staleness", this, SummaryProjector::stalenessMillis)
+            .description("Age of the oldest pending summary update")
+            .baseUnit("milliseconds")
+            .register(registry);
+    }
+
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        LOG.debug("Queueing summary update: {}", event);
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                oldestPendingNanos = event.getCreatedAtNanos();
+            }
+            pending
+                .computeIfAbsent(event.getUserId(), userId -> new SummaryDeltas())
+                .add(event.getOldTransaction(), false)
+                .add(event.getNewTransaction(), true);
+        }
+        eventsCounter.increment();
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                taskExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                drainScheduled.set(false);
+                LOG.warn("Summary projector drain rejected, it will be retried on the next transaction change", e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void poll() {
+        if (queueDepth() > 0 && drainScheduled.compareAndSet(false, true)) {
+            drain();
+        }
+    }
+
+    /**
+     * Apply what is still queued before the application stops; nothing is retried.
+     */
+    @PreDestroy
+    public void flush() {
+        Map<Long, SummaryDeltas> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        if (!batch.isEmpty()) {
+            LOG.info("Applying the pending summary updates of {} users before shutdown", batch.size());
+            apply(batch, false);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Map<Long, SummaryDeltas> batch;
+            long batchOldestNanos;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    drainScheduled.set(false);
+                    return;
+                }
+                batch = pending;
+                batchOldestNanos = oldestPendingNanos;
+                pending = new HashMap<>();
+            }
+
+            Map<Long, SummaryDeltas> failed = apply(batch, true);
+            if (!failed.isEmpty()) {
+                requeue(failed, batchOldestNanos);
+                // Retrying right away would likely fail again, the next poll does it
+                drainScheduled.set(false);
+                return;
+            }
+            lagTimer.record(System.nanoTime() - batchOldestNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Map<Long, SummaryDeltas> apply(Map<Long, SummaryDeltas> batch, boolean retry) {
+        Map<Long, SummaryDeltas> failed = new HashMap<>();
+        batch.forEach((userId, deltas) -> {
+            try {
+                summaryService.applySummaryDeltas(userId, deltas);
+                synchronized (lock) {
+                    attempts.remove(userId);
+                }
+            } catch (Exception e) {
+                failuresCounter.increment();
+                if (retry) {
+                    LOG.warn("Failed to project summary deltas for userId: {}, they will be retried", userId, e);
+                    failed.put(userId, deltas);
+                } else {
+                    droppedCounter.increment();
+                    LOG.error("Failed to project summary deltas for userId: {}, keys: {}", userId, deltas.keys(), e);
+                }
+            }
+        });
+        return failed;
+    }
+
+    private void requeue(Map<Long, SummaryDeltas> failed, long batchOldestNanos) {
+        synchronized (lock) {
+            if (pending.isEmpty() || batchOldestNanos - oldestPendingNanos < 0) {
+                oldestPendingNanos = batchOldestNanos;
+            }
+            failed.forEach((userId, deltas) -> {
+                int attempt = attempts.merge(userId, 1, Integer::sum);
+                if (attempt >= maxAttempts) {
+                    attempts.remove(userId);
+                    droppedCounter.increment();
+                    LOG.error("Dropping summary deltas for userId: {} after {} attempts, keys: {}", userId, attempt, deltas.keys());
+                    return;
+                }
+                // Deltas are sums, so changes queued meanwhile can be merged in any order
+                pending.computeIfAbsent(userId, id -> new SummaryDeltas()).addAll(deltas);
+            });
+        }
+    }
+
+    private double queueDepth() {
+        synchronized (lock) {
+            return pending.values().stream().mapToInt(SummaryDeltas::size).sum();
+        }
+    }
+
+    private double stalenessMillis() {
+        synchronized (lock) {
+            return pending.isEmpty() ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldestPendingNanos);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.enumeration.TransactionType;
+import com.mycompany.myapp.service.TransactionQueryService;
+import com.mycompany.myapp.service.dto.TransactionExportJobDTO;
+import com.mycompany.myapp.service.dto.TransactionExportJobDTO.Status;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Renders transaction exports in the background and keeps the files for download.
+ * <p>
+ * A job is queued on a bounded pool; when it runs, the Excel or PDF export is
+ * written to a {@code .part} file of the spool directory, which is renamed once
+ * complete, so a download never sees a half-written file. Each user may only
+ * have a few jobs queued or running, and a full queue refuses new jobs instead
+ * of piling them up. Finished jobs and their files are dropped after
+ * {@code artifactTtl}; export files left by a previous run are deleted at
+ * startup, as the job registry only lives in memory. Other files of the spool
+ * directory are left alone.
+ */
+@Component
+public class TransactionExportJobs {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionExportJobs.class);
+
+    private static final String ENTITY_NAME = "transaction";
+    private static final String PART_SUFFIX = ".part";
+    // <job id>.<format>[.part], the only files the jobs write to the spool directory
+    private static final Pattern SPOOL_FILE = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}\\.(xlsx|pdf)(\\.part)?");
+
+    private final TransactionQueryService transactionQueryService;
+    private final ApplicationProperties.TransactionExport settings;
+    private final Path spoolDir;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public TransactionExportJobs(TransactionQueryService transactionQueryService, ApplicationProperties applicationProperties) {
+        this.transactionQueryService = transactionQueryService;
+        this.settings = applicationProperties.getTransactionExport();
+        this.spoolDir = StringUtils.hasText(settings.getSpoolDir())
+            ? Paths.get(settings.getSpoolDir())
+            : Paths.get(System.getProperty("java.io.tmpdir"), "transaction-exports");
+        int maxJobs = Math.max(1, settings.getMaxConcurrentJobs());
+        this.executor = new ThreadPoolExecutor(
+            maxJobs,
+            maxJobs,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())),
+            new CustomizableThreadFactory("export-job-")
+        );
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(spoolDir);
+        // The directory may be shared, only the files named like an export job are removed
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(spoolDir, TransactionExportJobs::isSpoolFile)) {
+            for (Path file : stale) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue an export of the user's transactions matching the filters.
+     *
+     * @param format "xlsx" or "pdf".
+     * @return the status of the new job.
+     */
+    public TransactionExportJobDTO submit(
+        Long userId,
+        String format,
+        Long category,
+        Instant fromDate,
+        Instant toDate,
+        String type,
+        String sort
+    ) {
+        if (!"xlsx".equals(format) && !"pdf".equals(format)) {
+            throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "exportformat");
+        }
+        if (type != null) {
+            try {
+                TransactionType.valueOf(type);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException("Unsupported transaction type", ENTITY_NAME, "exporttype");
+            }
+        }
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), userId, format, category, fromDate, toDate, type, sort);
+        synchronized (jobs) {
+            long active = jobs.values().stream().filter(j -> Objects.equals(j.userId, userId) && !j.isFinished()).count();
+            if (active >= settings.getMaxJobsPerUser()) {
+                throw new BadRequestAlertException("Too many exports in progress", ENTITY_NAME, "exportlimit");
+            }
+            jobs.put(job.id, job);
+        }
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new BadRequestAlertException("The export queue is full, try again later", ENTITY_NAME, "exportqueuefull");
+        }
+        LOG.info("EXPORT: queued job {} ({}) for userId: {}", job.id, format, userId);
+        return job.toDTO(settings);
+    }
+
+    public Optional<TransactionExportJobDTO> find(Long userId, String jobId) {
+        return findJob(userId, jobId).map(job -> job.toDTO(settings));
+    }
+
+    /**
+     * The file of a completed job, while it has not expired.
+     */
+    public Optional<Path> findFile(Long userId, String jobId) {
+        return findJob(userId, jobId)
+            .filter(job -> job.status == Status.COMPLETED)
+            .map(job -> job.file)
+            .filter(Files::isReadable);
+    }
+
+    private Optional<ExportJob> findJob(Long userId, String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> Objects.equals(job.userId, userId));
+    }
+
+    /**
+     * Drop the finished jobs older than {@code artifactTtl} and delete their files.
+     * A download already in progress keeps reading the deleted file.
+     */
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void purgeExpired() {
+        Instant threshold = Instant.now().minus(settings.getArtifactTtl());
+        jobs
+            .values()
+            .removeIf(job -> {
+                if (job.finishedAt == null || !job.finishedAt.isBefore(threshold)) {
+                    return false;
+                }
+                if (job.file != null) {
+                    deleteQuietly(job.file);
+                }
+                LOG.debug("EXPORT: job {} expired", job.id);
+                return true;
+            });
+    }
+
+    private void run(ExportJob job) {
+        job.startedAt = Instant.now();
+        job.status = Status.RUNNING;
+        Path file = spoolDir.resolve(job.id + "." + job.format);
+        Path part = spoolDir.resolve(job.id + "." + job.format + PART_SUFFIX);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                if ("pdf".equals(job.format)) {
+                    transactionQueryService.exportToPDF(job.userId, job.category, job.fromDate, job.toDate, job.type, job.sort, out);
+                } else {
+                    transactionQueryService.exportToExcel(job.userId, job.category, job.fromDate, job.toDate, job.type, job.sort, out);
+                }
+            }
+            Files.move(part, file, StandardCopyOption.ATOMIC_MOVE);
+            job.file = file;
+            job.fileSize = Files.size(file);
+            job.finishedAt = Instant.now();
+            job.status = Status.COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            LOG.error("EXPORT: job {} failed", job.id, e);
+            deleteQuietly(part);
+            // The details stay in the log, the job only tells the client that it failed
+            job.error = "Export failed";
+            job.finishedAt = Instant.now();
+            job.status = Status.FAILED;
+        }
+        LOG.info("EXPORT: job {} finished: {}", job.id, job.toDTO(settings));
+    }
+
+    private static boolean isSpoolFile(Path file) {
+        return Files.isRegularFile(file) && SPOOL_FILE.matcher(file.getFileName().toString()).matches();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("EXPORT: could not delete spooled file {}", file);
+        }
+    }
+
+    // ================= INNER CLASS =================
+    private static class ExportJob {
+
+        final String id;
+        final Long userId;
+        final String format;
+        final Long category;
+        final Instant fromDate;
+        final Instant toDate;
+        final String type;
+        final String sort;
+        final Instant createdAt = Instant.now();
+        volatile Status status = Status.QUEUED;
+        volatile Path file;
+        volatile long fileSize;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        ExportJob(String id, Long userId, String format, Long category, Instant fromDate, Instant toDate, String type, String sort) {
+            this.id = id;
+            this.userId = userId;
+            this.format = format;
+            this.category = category;
+            this.fromDate = fromDate;
+            this.toDate = toDate;
+            this.type = type;
+            this.sort = sort;
+        }
+
+        boolean isFinished() {
+            return status == Status.COMPLETED || status == Status.FAILED;
+        }
+
+        TransactionExportJobDTO toDTO(ApplicationProperties.TransactionExport settings) {
+            TransactionExportJobDTO dto = new TransactionExportJobDTO();
+            dto.setJobId(id);
+            dto.setFormat(format);
+            dto.setStatus(status);
+            dto.setFileName("transactions." + format);
+            dto.setFileSize(fileSize);
+            dto.setCreatedAt(createdAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            if (finishedAt != null) {
+                dto.setExpiresAt(finishedAt.plus(settings.getArtifactTtl()));
+            }
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
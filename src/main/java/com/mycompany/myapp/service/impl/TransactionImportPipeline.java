@@ -0,0 +1,489 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Transaction;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.TransactionRepository;
+import com.mycompany.myapp.service.NotificationService;
+import com.mycompany.myapp.service.SummaryDeltas;
+import com.mycompany.myapp.service.SummaryService;
+import com.mycompany.myapp.service.dto.TransactionImportJobDTO;
+import com.mycompany.myapp.service.dto.TransactionImportJobDTO.Status;
+import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Runs statement imports in the background as a producer/consumer pipeline.
+ * <p>
+ * The upload is spooled to a temp file and a job is queued on the writer pool.
+ * Each user may only have a few jobs queued or running, and a full queue refuses
+ * new jobs, so spooled files cannot pile up on disk.
+ * When it starts, the job hands the file to a parser thread which validates the
+ * rows and puts them in batches on a bounded queue; the writer takes the batches
+ * and inserts each one, together with its summary delta, in its own transaction.
+ * A full queue blocks the parser, so memory stays bounded by
+ * {@code queueCapacity * batchSize} rows whatever the size of the file.
+ * <p>
+ * Every data row below the header counts as parsed, and ends up written,
+ * skipped (not a transaction, invalid, or a duplicate of a row imported
+ * before, see {@link ImportDeduplicator}) or failed (its batch could not be
+ * inserted). Cancelling stops both sides: batches already written are kept,
+ * batches still waiting in the queue are dropped.
+ */
+@Component
+public class TransactionImportPipeline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionImportPipeline.class);
+
+    private static final String ENTITY_NAME = "transaction";
+
+    private static final int DESCRIPTION_MAX_LENGTH = 255;
+    private static final int MAX_REPORTED_DUPLICATES = 100;
+    private static final long POLL_MILLIS = 200;
+
+    // Marks the end of the parsed rows, compared by identity.
+    private static final List<Transaction> END_OF_INPUT = new ArrayList<>(0);
+
+    private final TransactionImportParser transactionImportParser;
+    private final TransactionRepository transactionRepository;
+    private final SummaryService summaryService;
+    private final NotificationService notificationService;
+    private final BudgetEvaluator budgetEvaluator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationProperties.TransactionImport settings;
+
+    private final ThreadPoolExecutor writers;
+    private final ExecutorService parsers;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public TransactionImportPipeline(
+        TransactionImportParser transactionImportParser,
+        TransactionRepository transactionRepository,
+        SummaryService summaryService,
+        NotificationService notificationService,
+        BudgetEvaluator budgetEvaluator,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.transactionImportParser = transactionImportParser;
+        this.transactionRepository = transactionRepository;
+        this.summaryService = summaryService;
+        this.notificationService = notificationService;
+        this.budgetEvaluator = budgetEvaluator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settings = applicationProperties.getTransactionImport();
+        // A running job holds one writer and one parser thread; the pools have the
+        // same size so the parser of a started job never waits behind another job.
+        // Only the writer pool queues jobs, and its queue is bounded.
+        int maxJobs = Math.max(1, settings.getMaxConcurrentJobs());
+        this.writers = new ThreadPoolExecutor(
+            maxJobs,
+            maxJobs,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, settings.getJobQueueCapacity())),
+            new CustomizableThreadFactory("import-writer-")
+        );
+        this.parsers = Executors.newFixedThreadPool(maxJobs, new CustomizableThreadFactory("import-parser-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+        parsers.shutdownNow();
+    }
+
+    /**
+     * Spool the uploaded statement and queue its import. The upload is refused
+     * when the user has {@code maxJobsPerUser} imports in progress or the line of
+     * waiting jobs is full.
+     *
+     * @return the status of the new job.
+     */
+    public TransactionImportJobDTO submit(User user, MultipartFile file) {
+        pruneFinishedJobs();
+        Path spool;
+        try {
+            spool = Files.createTempFile("import-", ".tmp");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store the uploaded statement", e);
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), user, file.getOriginalFilename(), spool);
+        // The slot is taken before the upload is written, so refused uploads never reach the disk
+        synchronized (jobs) {
+            long active = jobs.values().stream().filter(j -> Objects.equals(j.user.getId(), user.getId()) && j.finishedAt == null).count();
+            if (active >= settings.getMaxJobsPerUser()) {
+                deleteQuietly(spool);
+                throw new BadRequestAlertException("Too many imports in progress", ENTITY_NAME, "importlimit");
+            }
+            jobs.put(job.id, job);
+        }
+        try {
+            file.transferTo(spool);
+        } catch (IOException e) {
+            jobs.remove(job.id);
+            deleteQuietly(spool);
+            throw new RuntimeException("Failed to store the uploaded statement", e);
+        }
+
+        try {
+            writers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(spool);
+            throw new BadRequestAlertException("The import queue is full, try again later", ENTITY_NAME, "importqueuefull");
+        }
+        LOG.info("IMPORT: queued job {} for file {} of userId: {}", job.id, job.fileName, user.getId());
+        return job.toDTO();
+    }
+
+    public Optional<TransactionImportJobDTO> find(Long userId, String jobId) {
+        return findJob(userId, jobId).map(ImportJob::toDTO);
+    }
+
+    /**
+     * Ask a job to stop. A queued job is cancelled right away, a running one
+     * stops after the batch being written.
+     */
+    public Optional<TransactionImportJobDTO> cancel(Long userId, String jobId) {
+        return findJob(userId, jobId).map(job -> {
+            job.cancelRequested.set(true);
+            if (job.status.compareAndSet(Status.QUEUED, Status.CANCELLED)) {
+                job.finishedAt = Instant.now();
+            }
+            LOG.info("IMPORT: cancel requested for job {}", jobId);
+            return job.toDTO();
+        });
+    }
+
+    private Optional<ImportJob> findJob(Long userId, String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> Objects.equals(job.user.getId(), userId));
+    }
+
+    private void pruneFinishedJobs() {
+        Instant threshold = Instant.now().minus(settings.getJobRetention());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(threshold));
+    }
+
+    // ================= WRITER =================
+    private void run(ImportJob job) {
+        if (!job.status.compareAndSet(Status.QUEUED, Status.RUNNING)) {
+            deleteQuietly(job.spool);
+            return;
+        }
+        job.startedAt = Instant.now();
+        BlockingQueue<List<Transaction>> queue = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+        Map<Long, Transaction> latestByCategory = new HashMap<>();
+        Status result = Status.COMPLETED;
+        String error = null;
+        try {
+            Future<?> parser = parsers.submit(() -> parse(job, queue));
+            write(job, queue, latestByCategory);
+            parser.get();
+        } catch (ExecutionException e) {
+            LOG.error("IMPORT: job {} failed while parsing", job.id, e.getCause());
+            result = Status.FAILED;
+            error = e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.cancelRequested.set(true);
+            result = Status.FAILED;
+            error = "Import interrupted";
+        } catch (RuntimeException e) {
+            LOG.error("IMPORT: job {} failed", job.id, e);
+            job.cancelRequested.set(true);
+            result = Status.FAILED;
+            error = e.getMessage();
+        } finally {
+            deleteQuietly(job.spool);
+        }
+
+        notifyBudgets(job, latestByCategory);
+        if (result == Status.COMPLETED && job.cancelRequested.get()) {
+            result = Status.CANCELLED;
+        }
+        job.error = error;
+        job.finishedAt = Instant.now();
+        job.status.set(result);
+        LOG.info("IMPORT: job {} finished: {}", job.id, job.toDTO());
+    }
+
+    private void write(ImportJob job, BlockingQueue<List<Transaction>> queue, Map<Long, Transaction> latestByCategory)
+        throws InterruptedException {
+        Long userId = job.user.getId();
+        ImportDeduplicator deduplicator = new ImportDeduplicator(userId, transactionRepository);
+        while (!job.cancelRequested.get()) {
+            List<Transaction> batch = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (batch == null) {
+                continue;
+            }
+            if (batch == END_OF_INPUT) {
+                return;
+            }
+            ImportDeduplicator.Split split;
+            try {
+                split = deduplicator.split(batch);
+            } catch (RuntimeException e) {
+                LOG.warn("IMPORT: job {} could not check a batch of {} rows for duplicates: {}", job.id, batch.size(), e.getMessage());
+                job.rowsFailed.addAndGet(batch.size());
+                continue;
+            }
+            job.addDuplicates(split.duplicates);
+            List<Transaction> rows = split.fresh;
+            if (rows.isEmpty()) {
+                continue;
+            }
+
+            SummaryDeltas deltas = new SummaryDeltas();
+            rows.forEach(tx -> deltas.add(tx, true));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    transactionRepository.insertAll(rows, split.fingerprints);
+                    summaryService.applySummaryDeltas(userId, deltas);
+                    budgetEvaluator.recordInserted(userId, rows);
+                });
+                job.rowsWritten.addAndGet(rows.size());
+            } catch (RuntimeException e) {
+                LOG.warn("IMPORT: job {} could not write a batch of {} rows: {}", job.id, rows.size(), e.getMessage());
+                job.rowsFailed.addAndGet(rows.size());
+                continue;
+            }
+            for (Transaction tx : rows) {
+                if (tx.getCategory() != null) {
+                    latestByCategory.merge(tx.getCategory().getId(), tx, (a, b) ->
+                        b.getTransactionDate().isAfter(a.getTransactionDate()) ? b : a
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Each affected category is checked against its budgets once, with the
+     * latest written transaction of that category.
+     */
+    private void notifyBudgets(ImportJob job, Map<Long, Transaction> latestByCategory) {
+        Long userId = job.user.getId();
+        for (Transaction tx : latestByCategory.values()) {
+            try {
+                notificationService.evaluateBudgetsForTransaction(userId, tx);
+            } catch (RuntimeException e) {
+                LOG.warn("IMPORT: job {} could not check budgets of category {}: {}", job.id, tx.getCategory().getId(), e.getMessage());
+            }
+        }
+    }
+
+    // ================= PARSER =================
+    private void parse(ImportJob job, BlockingQueue<List<Transaction>> queue) {
+        BatchingSink sink = new BatchingSink(job, queue);
+        try {
+            transactionImportParser.parse(job.spool, sink);
+            sink.flush();
+        } catch (RuntimeException e) {
+            if (!job.cancelRequested.get()) {
+                throw e;
+            }
+        } finally {
+            sink.put(END_OF_INPUT);
+        }
+    }
+
+    private class BatchingSink implements TransactionImportParser.RowSink {
+
+        private final ImportJob job;
+        private final BlockingQueue<List<Transaction>> queue;
+        private final Instant now = Instant.now();
+        private final int batchSize = Math.max(1, settings.getBatchSize());
+        private List<Transaction> batch = new ArrayList<>(batchSize);
+
+        BatchingSink(ImportJob job, BlockingQueue<List<Transaction>> queue) {
+            this.job = job;
+            this.queue = queue;
+        }
+
+        @Override
+        public void accept(Transaction tx) {
+            checkCancelled();
+            job.rowsParsed.incrementAndGet();
+            if (!validate(tx)) {
+                job.rowsSkipped.incrementAndGet();
+                return;
+            }
+            tx.setUser(job.user);
+            tx.setCreatedAt(now);
+            tx.setUpdatedAt(now);
+            batch.add(tx);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void skipped(int rowNum) {
+            checkCancelled();
+            job.rowsParsed.incrementAndGet();
+            job.rowsSkipped.incrementAndGet();
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                List<Transaction> full = batch;
+                batch = new ArrayList<>(batchSize);
+                if (!put(full)) {
+                    throw new CancellationException("Import cancelled");
+                }
+            }
+        }
+
+        /**
+         * Blocks while the queue is full; gives up when the job is cancelled.
+         */
+        boolean put(List<Transaction> rows) {
+            try {
+                while (!queue.offer(rows, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (job.cancelRequested.get()) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                job.cancelRequested.set(true);
+                return false;
+            }
+        }
+
+        private void checkCancelled() {
+            if (job.cancelRequested.get()) {
+                throw new CancellationException("Import cancelled");
+            }
+        }
+    }
+
+    private static boolean validate(Transaction tx) {
+        if (tx.getTransactionDate() == null || tx.getTransactionType() == null) {
+            return false;
+        }
+        if (tx.getAmount() == null || tx.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return false;
+        }
+        if (tx.getDescription() != null && tx.getDescription().length() > DESCRIPTION_MAX_LENGTH) {
+            tx.setDescription(tx.getDescription().substring(0, DESCRIPTION_MAX_LENGTH));
+        }
+        return true;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("IMPORT: could not delete spooled file {}", file);
+        }
+    }
+
+    // ================= INNER CLASS =================
+    private static class ImportJob {
+
+        final String id;
+        final User user;
+        final String fileName;
+        final Path spool;
+        final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+        final AtomicBoolean cancelRequested = new AtomicBoolean();
+        final AtomicLong rowsParsed = new AtomicLong();
+        final AtomicLong rowsWritten = new AtomicLong();
+        final AtomicLong rowsSkipped = new AtomicLong();
+        final AtomicLong rowsFailed = new AtomicLong();
+        final AtomicLong rowsDuplicate = new AtomicLong();
+        final List<TransactionImportJobDTO.DuplicateRow> duplicates = new ArrayList<>();
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        ImportJob(String id, User user, String fileName, Path spool) {
+            this.id = id;
+            this.user = user;
+            this.fileName = fileName;
+            this.spool = spool;
+        }
+
+        /**
+         * Duplicates count as skipped rows; the first {@link #MAX_REPORTED_DUPLICATES}
+         * are listed in the report.
+         */
+        void addDuplicates(List<Transaction> rows) {
+            rowsSkipped.addAndGet(rows.size());
+            rowsDuplicate.addAndGet(rows.size());
+            synchronized (duplicates) {
+                for (Transaction tx : rows) {
+                    if (duplicates.size() >= MAX_REPORTED_DUPLICATES) {
+                        break;
+                    }
+                    duplicates.add(
+                        new TransactionImportJobDTO.DuplicateRow(
+                            tx.getTransactionDate(),
+                            tx.getAmount(),
+                            tx.getTransactionType(),
+                            tx.getDescription()
+                        )
+                    );
+                }
+            }
+        }
+
+        TransactionImportJobDTO toDTO() {
+            TransactionImportJobDTO dto = new TransactionImportJobDTO();
+            dto.setJobId(id);
+            dto.setFileName(fileName);
+            dto.setStatus(status.get());
+            dto.setRowsParsed(rowsParsed.get());
+            dto.setRowsWritten(rowsWritten.get());
+            dto.setRowsSkipped(rowsSkipped.get());
+            dto.setRowsFailed(rowsFailed.get());
+            dto.setRowsDuplicate(rowsDuplicate.get());
+            synchronized (duplicates) {
+                dto.setDuplicates(new ArrayList<>(duplicates));
+            }
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
@@ -1,24 +1,31 @@
 package com.mycompany.myapp.service.impl;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.Transaction;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.TransactionRepository;
 import com.mycompany.myapp.service.NotificationService;
 import com.mycompany.myapp.service.SummaryService;
+import com.mycompany.myapp.service.TransactionChangedEvent;
 import com.mycompany.myapp.service.TransactionService;
 import com.mycompany.myapp.service.UserService;
+import com.mycompany.myapp.service.dto.TransactionExportJobDTO;
+import com.mycompany.myapp.service.dto.TransactionImportJobDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import jakarta.persistence.EntityNotFoundException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -32,24 +39,36 @@ public class TransactionServiceImpl implements TransactionService {
 
     private static final Logger LOG = LoggerFactory.getLogger(TransactionServiceImpl.class);
 
-    private final TransactionImportParser transactionImportParser;
+    private final TransactionImportPipeline transactionImportPipeline;
+    private final TransactionExportJobs transactionExportJobs;
+    private final BudgetEvaluator budgetEvaluator;
     private final TransactionRepository transactionRepository;
     private final UserService userService;
     private final SummaryService summaryService;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationProperties applicationProperties;
 
     public TransactionServiceImpl(
-        TransactionImportParser transactionImportParser,
+        TransactionImportPipeline transactionImportPipeline,
+        TransactionExportJobs transactionExportJobs,
+        BudgetEvaluator budgetEvaluator,
         TransactionRepository transactionRepository,
         UserService userService,
         SummaryService summaryService,
-        NotificationService notificationService
+        NotificationService notificationService,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties
     ) {
-        this.transactionImportParser = transactionImportParser;
+        this.transactionImportPipeline = transactionImportPipeline;
+        this.transactionExportJobs = transactionExportJobs;
+        this.budgetEvaluator = budgetEvaluator;
         this.transactionRepository = transactionRepository;
         this.userService = userService;
         this.summaryService = summaryService;
         this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -67,10 +86,10 @@ public class TransactionServiceImpl implements TransactionService {
         transaction.setTransactionDate(transaction.getTransactionDate());
         Transaction savedTransaction = transactionRepository.save(transaction);
         Long userId = savedTransaction.getUser().getId();
-        summaryService.updateSummaryForTransaction(userId, null, savedTransaction);
+        updateSummary(userId, null, savedTransaction);
+        budgetEvaluator.recordChange(null, savedTransaction);
         if (savedTransaction.getCategory() != null) {
-            notificationService.createNotificationForTransaction(userId, savedTransaction);
-            notificationService.createWarningNotificationForTransaction(userId, savedTransaction);
+            notificationService.evaluateBudgetsForTransaction(userId, savedTransaction);
         }
         return savedTransaction;
     }
@@ -87,14 +106,28 @@ public class TransactionServiceImpl implements TransactionService {
         transaction.setTransactionDate(transaction.getTransactionDate());
         Transaction updatedTransaction = transactionRepository.save(transaction);
         Long userId = updatedTransaction.getUser().getId();
-        summaryService.updateSummaryForTransaction(userId, oldTransaction, updatedTransaction);
+        updateSummary(userId, oldTransaction, updatedTransaction);
+        budgetEvaluator.recordChange(oldTransaction, updatedTransaction);
         if (transaction.getCategory() != null) {
-            notificationService.createNotificationForTransaction(userId, transaction);
-            notificationService.createWarningNotificationForTransaction(userId, transaction);
+            notificationService.evaluateBudgetsForTransaction(userId, transaction);
         }
         return updatedTransaction;
     }
 
+    /**
+     * Update the summaries inline, or hand the change to the summary projector
+     * after commit when the async projection mode is enabled.
+     */
+    private void updateSummary(Long userId, Transaction oldTransaction, Transaction newTransaction) {
+        if (applicationProperties.getSummaryProjection().isAsync()) {
+            // The event is handled after commit, so it gets a copy rather than the managed entity
+            Transaction newSnapshot = newTransaction != null ? cloneTransaction(newTransaction) : null;
+            eventPublisher.publishEvent(new TransactionChangedEvent(userId, oldTransaction, newSnapshot));
+        } else {
+            summaryService.updateSummaryForTransaction(userId, oldTransaction, newTransaction);
+        }
+    }
+
     private Transaction cloneTransaction(Transaction t) {
         Transaction clone = new Transaction();
         clone.setId(t.getId());
@@ -114,6 +147,7 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionRepository
             .findById(transaction.getId())
             .map(existingTransaction -> {
+                Transaction oldTransaction = cloneTransaction(existingTransaction);
                 if (transaction.getAmount() != null) {
                     existingTransaction.setAmount(transaction.getAmount());
                 }
@@ -132,6 +166,7 @@ public class TransactionServiceImpl implements TransactionService {
                 if (transaction.getUpdatedAt() != null) {
                     existingTransaction.setUpdatedAt(transaction.getUpdatedAt());
                 }
+                budgetEvaluator.recordChange(oldTransaction, existingTransaction);
 
                 return existingTransaction;
             })
@@ -159,7 +194,9 @@ public class TransactionServiceImpl implements TransactionService {
         validateDeletePermission(transaction);
 
         Long userId = transaction.getUser().getId();
-        summaryService.updateSummaryForTransaction(userId, transaction, null);
+        Transaction oldTransaction = cloneTransaction(transaction);
+        updateSummary(userId, oldTransaction, null);
+        budgetEvaluator.recordChange(oldTransaction, null);
         transactionRepository.deleteById(id);
     }
 
@@ -186,21 +223,49 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    @Transactional
-    public void importFromFile(MultipartFile file) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransactionImportJobDTO importFromFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new BadRequestAlertException("File is empty", "transaction", "fileempty");
         }
 
         User user = userService.getUserWithAuthorities().orElseThrow(() -> new IllegalStateException("User not logged in"));
 
-        List<Transaction> transactions = transactionImportParser.parse(file);
+        return transactionImportPipeline.submit(user, file);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<TransactionImportJobDTO> findImportJob(String jobId) {
+        return currentUserId().flatMap(userId -> transactionImportPipeline.find(userId, jobId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<TransactionImportJobDTO> cancelImport(String jobId) {
+        return currentUserId().flatMap(userId -> transactionImportPipeline.cancel(userId, jobId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransactionExportJobDTO startExport(String format, Long category, Instant fromDate, Instant toDate, String type, String sort) {
+        Long userId = currentUserId().orElseThrow(() -> new IllegalStateException("User not logged in"));
+        return transactionExportJobs.submit(userId, format, category, fromDate, toDate, type, sort);
+    }
 
-        LOG.info("IMPORT: parsed {} transactions", transactions.size());
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<TransactionExportJobDTO> findExportJob(String jobId) {
+        return currentUserId().flatMap(userId -> transactionExportJobs.find(userId, jobId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Path> findExportFile(String jobId) {
+        return currentUserId().flatMap(userId -> transactionExportJobs.findFile(userId, jobId));
+    }
 
-        transactions.forEach(tx -> {
-            tx.setUser(user);
-            save(tx);
-        });
+    private Optional<Long> currentUserId() {
+        return userService.getUserWithAuthorities().map(User::getId);
     }
 }
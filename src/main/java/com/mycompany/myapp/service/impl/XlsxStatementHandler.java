@@ -0,0 +1,254 @@
+package com.mycompany.myapp.service.impl;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Transaction;
+import com.mycompany.myapp.service.impl.StatementRowMapper.HeaderAnchor;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.ss.util.NumberToTextConverter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+/**
+ * Reads XLSX statements, recognised by the ZIP signature of the OOXML package.
+ */
+@Component
+@Order(1)
+public class XlsxStatementHandler implements StatementFormatHandler {
+
+    private static final byte[] ZIP_SIGNATURE = { 'P', 'K', 3, 4 };
+
+    private final ApplicationProperties applicationProperties;
+
+    public XlsxStatementHandler(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public String name() {
+        return "xlsx";
+    }
+
+    @Override
+    public boolean supports(byte[] head) {
+        if (head.length < ZIP_SIGNATURE.length) {
+            return false;
+        }
+        for (int i = 0; i < ZIP_SIGNATURE.length; i++) {
+            if (head[i] != ZIP_SIGNATURE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int parse(Path file, TransactionImportParser.RowSink sink) throws IOException {
+        try {
+            if ("dom".equalsIgnoreCase(applicationProperties.getTransactionImport().getXlsxReader())) {
+                return parseDom(file, sink);
+            }
+            // OPCPackage reads a file lazily, an InputStream would be unpacked in memory
+            return parseStreaming(file.toFile(), sink);
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    // ================= DOM =================
+    private int parseDom(Path file, TransactionImportParser.RowSink sink) throws Exception {
+        try (InputStream is = Files.newInputStream(file); Workbook workbook = new XSSFWorkbook(is)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            HeaderAnchor header = findHeader(sheet);
+            return parseSheet(sheet, header, sink);
+        }
+    }
+
+    // ================= STREAMING =================
+    private int parseStreaming(File file, TransactionImportParser.RowSink sink) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StreamingSheetHandler handler = new StreamingSheetHandler(sink);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new RuntimeException("Cannot find required header columns");
+            }
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(
+                    new XSSFSheetXMLHandler(reader.getStylesTable(), strings, handler, new RawValueFormatter(), false)
+                );
+                parser.parse(new InputSource(sheet));
+            }
+            if (handler.header == null) {
+                throw new RuntimeException("Cannot find required header columns");
+            }
+            return handler.emitted;
+        }
+    }
+
+    /**
+     * Receives the cells of the first sheet row by row. Rows are scanned for the
+     * header anchor first, then every following row is turned into a transaction
+     * and emitted right away, so only the current row is kept in memory.
+     */
+    private class StreamingSheetHandler implements SheetContentsHandler {
+
+        private final TransactionImportParser.RowSink sink;
+        private final List<String> rowValues = new ArrayList<>();
+        private HeaderAnchor header;
+        private int rowNum;
+        private int emitted;
+
+        StreamingSheetHandler(TransactionImportParser.RowSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            this.rowNum = rowNum;
+            rowValues.clear();
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference != null ? new CellReference(cellReference).getCol() : rowValues.size();
+            while (rowValues.size() <= col) {
+                rowValues.add(null);
+            }
+            rowValues.set(col, formattedValue);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (header == null) {
+                header = StatementRowMapper.matchHeader(this.rowNum, rowValues);
+                return;
+            }
+            Transaction tx = StatementRowMapper.toTransaction(
+                value(header.dateCol),
+                value(header.debitCol),
+                value(header.creditCol),
+                value(header.descCol)
+            );
+            if (tx != null) {
+                sink.accept(tx);
+                emitted++;
+            } else {
+                sink.skipped(this.rowNum);
+            }
+        }
+
+        private String value(int col) {
+            String value = col < rowValues.size() ? rowValues.get(col) : null;
+            return value != null ? value.trim() : "";
+        }
+    }
+
+    /**
+     * Renders numeric cells as their raw value, the way {@code getString} sees them
+     * in the DOM reader, instead of applying the cell's display format.
+     */
+    private static class RawValueFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            return NumberToTextConverter.toText(value);
+        }
+    }
+
+    // ================= HEADER =================
+    private HeaderAnchor findHeader(Sheet sheet) {
+        for (Row row : sheet) {
+            List<String> values = new ArrayList<>();
+            for (Cell cell : row) {
+                while (values.size() <= cell.getColumnIndex()) {
+                    values.add(null);
+                }
+                values.set(cell.getColumnIndex(), getString(cell));
+            }
+
+            HeaderAnchor header = StatementRowMapper.matchHeader(row.getRowNum(), values);
+            if (header != null) {
+                return header;
+            }
+        }
+        throw new RuntimeException("Cannot find required header columns");
+    }
+
+    // ================= DATA =================
+    private int parseSheet(Sheet sheet, HeaderAnchor header, TransactionImportParser.RowSink sink) {
+        int emitted = 0;
+        for (int i = header.headerRow + 1; i <= sheet.getLastRowNum(); i++) {
+            Row row = sheet.getRow(i);
+            if (row == null) continue;
+
+            Transaction tx = parseRow(row, header);
+            if (tx != null) {
+                sink.accept(tx);
+                emitted++;
+            } else {
+                sink.skipped(i);
+            }
+        }
+        return emitted;
+    }
+
+    private Transaction parseRow(Row row, HeaderAnchor h) {
+        Instant date = parseDate(row.getCell(h.dateCol));
+        if (date == null) return null;
+
+        BigDecimal debit = parseMoney(row.getCell(h.debitCol));
+        BigDecimal credit = parseMoney(row.getCell(h.creditCol));
+        return StatementRowMapper.buildTransaction(date, debit, credit, getString(row.getCell(h.descCol)));
+    }
+
+    // ================= PARSERS =================
+    private Instant parseDate(Cell cell) {
+        if (cell == null) return null;
+
+        return StatementRowMapper.parseDate(getString(cell));
+    }
+
+    private BigDecimal parseMoney(Cell cell) {
+        if (cell == null) return null;
+
+        switch (cell.getCellType()) {
+            case NUMERIC:
+                return BigDecimal.valueOf(cell.getNumericCellValue());
+            case STRING:
+                return StatementRowMapper.parseMoney(cell.getStringCellValue());
+            default:
+                return null;
+        }
+    }
+
+    private String getString(Cell cell) {
+        if (cell == null) return "";
+        cell.setCellType(CellType.STRING);
+        return cell.getStringCellValue().trim();
+    }
+}
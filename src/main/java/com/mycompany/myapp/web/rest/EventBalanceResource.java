@@ -175,6 +175,23 @@ public class EventBalanceResource {
         return ResponseEntity.ok().body(eventBalanceQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code POST  /event-balances/recalculate/:eventId} : rebuild the balances of an
+     * event from all its bills and participants, to repair balances that drifted.
+     *
+     * @param eventId the id of the event.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with
+     *         status {@code 404 (Not Found)} if the event does not exist.
+     */
+    @PostMapping("/recalculate/{eventId}")
+    public ResponseEntity<Void> recalculateEventBalances(@PathVariable("eventId") Long eventId) {
+        LOG.debug("REST request to recalculate EventBalances of Event : {}", eventId);
+        if (!eventBalanceService.recalculateByEvent(eventId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * {@code GET  /event-balances/:id} : get the "id" eventBalance.
      *
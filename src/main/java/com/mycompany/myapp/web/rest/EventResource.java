@@ -5,10 +5,14 @@ import com.mycompany.myapp.domain.Member;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.EventRepository;
 import com.mycompany.myapp.repository.MemberRepository;
+import com.mycompany.myapp.service.BillService;
 import com.mycompany.myapp.service.EventQueryService;
 import com.mycompany.myapp.service.EventService;
+import com.mycompany.myapp.service.SettlementService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.criteria.EventCriteria;
+import com.mycompany.myapp.service.dto.BillBatchDTO;
+import com.mycompany.myapp.service.dto.SettlementPlanDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
@@ -53,15 +57,21 @@ public class EventResource {
     private final EventRepository eventRepository;
 
     private final EventQueryService eventQueryService;
+    private final SettlementService settlementService;
+    private final BillService billService;
 
     public EventResource(
         EventService eventService,
         EventRepository eventRepository,
         EventQueryService eventQueryService,
         UserService userService,
-        MemberRepository memberRepository
+        MemberRepository memberRepository,
+        SettlementService settlementService,
+        BillService billService
     ) {
         this.memberRepository = memberRepository;
+        this.settlementService = settlementService;
+        this.billService = billService;
         this.eventService = eventService;
         this.eventRepository = eventRepository;
         this.eventQueryService = eventQueryService;
@@ -217,6 +227,53 @@ public class EventResource {
         return ResponseUtil.wrapOrNotFound(event);
     }
 
+    /**
+     * {@code GET  /events/:id/settlement-plan} : plan the transfers that settle the
+     * balances of the "id" event.
+     *
+     * @param id the id of the event.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
+     *         the plan, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/settlement-plan")
+    public ResponseEntity<SettlementPlanDTO> getSettlementPlan(@PathVariable("id") Long id) {
+        LOG.debug("REST request to plan the Settlements of Event : {}", id);
+        return ResponseUtil.wrapOrNotFound(settlementService.planForEvent(id, false));
+    }
+
+    /**
+     * {@code POST  /events/:id/settlement-plan} : plan the transfers that settle the
+     * balances of the "id" event and save them as its settlements, replacing the
+     * previous ones.
+     *
+     * @param id the id of the event.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
+     *         the saved plan, or with status {@code 404 (Not Found)}.
+     */
+    @PostMapping("/{id}/settlement-plan")
+    public ResponseEntity<SettlementPlanDTO> saveSettlementPlan(@PathVariable("id") Long id) {
+        LOG.debug("REST request to save the Settlement plan of Event : {}", id);
+        return ResponseUtil.wrapOrNotFound(settlementService.planForEvent(id, true));
+    }
+
+    /**
+     * {@code POST  /events/:id/bills:batch} : Create bills with their participants
+     * in the "id" event, updating its balances once for the whole batch.
+     *
+     * @param id    the id of the event.
+     * @param batch the bills to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body
+     *         the batch with the ids of the new bills, or with status
+     *         {@code 400 (Bad Request)} if a bill is not valid or one of its members
+     *         is not in the team of the event, or with status
+     *         {@code 404 (Not Found)} if the event is not found.
+     */
+    @PostMapping("/{id}/bills:batch")
+    public ResponseEntity<BillBatchDTO> createBills(@PathVariable("id") Long id, @Valid @RequestBody BillBatchDTO batch) {
+        LOG.debug("REST request to save a batch of Bills in Event : {}, {}", id, batch);
+        return ResponseUtil.wrapOrNotFound(billService.saveBatch(id, batch));
+    }
+
     /**
      * {@code DELETE  /events/:id} : delete the "id" event.
      *
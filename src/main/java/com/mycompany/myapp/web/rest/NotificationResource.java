@@ -22,8 +22,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.service.filter.LongFilter;
 import tech.jhipster.web.util.HeaderUtil;
@@ -202,6 +204,66 @@ public class NotificationResource {
         return ResponseEntity.ok().body(notificationQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /notifications/unread-count} : count the unread notifications of
+     * the current user.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count
+     *         in body.
+     */
+    @GetMapping("/unread-count")
+    public ResponseEntity<Long> countUnreadNotifications() {
+        User currentUser = userService.getUserWithAuthorities().orElseThrow(() -> new EntityNotFoundException("Current user not found"));
+        return ResponseEntity.ok().body(notificationService.countUnread(currentUser.getId()));
+    }
+
+    /**
+     * {@code POST  /notifications/mark-read} : mark notifications of the current
+     * user as read.
+     *
+     * @param ids the notifications to mark.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         number of notifications marked in body, or with status
+     *         {@code 400 (Bad Request)} if no notification is given.
+     */
+    @PostMapping("/mark-read")
+    public ResponseEntity<Integer> markNotificationsRead(@RequestBody(required = false) List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestAlertException("No notification to mark as read", ENTITY_NAME, "idsempty");
+        }
+        User currentUser = userService.getUserWithAuthorities().orElseThrow(() -> new EntityNotFoundException("Current user not found"));
+        LOG.debug("REST request to mark Notifications {} of userId {} as read", ids, currentUser.getId());
+        return ResponseEntity.ok().body(notificationService.markRead(currentUser.getId(), ids));
+    }
+
+    /**
+     * {@code POST  /notifications/mark-all-read} : mark all the unread
+     * notifications of the current user as read.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         number of notifications marked in body.
+     */
+    @PostMapping("/mark-all-read")
+    public ResponseEntity<Integer> markAllNotificationsRead() {
+        User currentUser = userService.getUserWithAuthorities().orElseThrow(() -> new EntityNotFoundException("Current user not found"));
+        LOG.debug("REST request to mark all Notifications of userId {} as read", currentUser.getId());
+        return ResponseEntity.ok().body(notificationService.markAllRead(currentUser.getId()));
+    }
+
+    /**
+     * {@code GET  /notifications/stream} : stream the new notifications of the
+     * current user as Server-Sent Events.
+     *
+     * @return the emitter of the stream, a {@code notification} event is sent for
+     *         each new notification.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications() {
+        User currentUser = userService.getUserWithAuthorities().orElseThrow(() -> new EntityNotFoundException("Current user not found"));
+        LOG.debug("REST request to stream Notifications of userId: {}", currentUser.getId());
+        return notificationService.subscribe(currentUser.getId());
+    }
+
     /**
      * {@code GET  /notifications/:id} : get the "id" notification.
      *
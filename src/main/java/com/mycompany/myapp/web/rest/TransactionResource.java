@@ -1,5 +1,6 @@
 package com.mycompany.myapp.web.rest;
 
+import com.mycompany.myapp.config.ApplicationProperties;
 import com.mycompany.myapp.domain.Transaction;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.TransactionRepository;
@@ -7,12 +8,22 @@ import com.mycompany.myapp.service.TransactionQueryService;
 import com.mycompany.myapp.service.TransactionService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.criteria.TransactionCriteria;
+import com.mycompany.myapp.service.dto.TransactionExportJobDTO;
+import com.mycompany.myapp.service.dto.TransactionImportJobDTO;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -29,7 +40,10 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.service.filter.LongFilter;
 import tech.jhipster.web.util.HeaderUtil;
@@ -56,17 +70,20 @@ public class TransactionResource {
 
     private final TransactionQueryService transactionQueryService;
     private final UserService userService;
+    private final ApplicationProperties.TransactionExport exportSettings;
 
     public TransactionResource(
         TransactionService transactionService,
         TransactionRepository transactionRepository,
         TransactionQueryService transactionQueryService,
-        UserService userService
+        UserService userService,
+        ApplicationProperties applicationProperties
     ) {
         this.transactionService = transactionService;
         this.transactionRepository = transactionRepository;
         this.transactionQueryService = transactionQueryService;
         this.userService = userService;
+        this.exportSettings = applicationProperties.getTransactionExport();
     }
 
     @PostMapping("")
@@ -83,10 +100,46 @@ public class TransactionResource {
             .body(savedTransaction);
     }
 
+    /**
+     * {@code POST  /transactions/import} : start importing a bank statement.
+     *
+     * @param file the statement to import.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and
+     *         the import job in body.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
     @PostMapping("/import")
-    public ResponseEntity<Void> importTransactions(@RequestParam("file") MultipartFile file) {
-        transactionService.importFromFile(file);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<TransactionImportJobDTO> importTransactions(@RequestParam("file") MultipartFile file)
+        throws URISyntaxException {
+        LOG.debug("REST request to import Transactions from file : {}", file.getOriginalFilename());
+        TransactionImportJobDTO job = transactionService.importFromFile(file);
+        return ResponseEntity.accepted().location(new URI("/api/transactions/import/" + job.getJobId())).body(job);
+    }
+
+    /**
+     * {@code GET  /transactions/import/:jobId} : get the progress of an import job.
+     *
+     * @param jobId the id of the import job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         import job in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<TransactionImportJobDTO> getImportJob(@PathVariable("jobId") String jobId) {
+        LOG.debug("REST request to get import job : {}", jobId);
+        return ResponseUtil.wrapOrNotFound(transactionService.findImportJob(jobId));
+    }
+
+    /**
+     * {@code DELETE  /transactions/import/:jobId} : cancel an import job.
+     *
+     * @param jobId the id of the import job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         import job in body, or with status {@code 404 (Not Found)}.
+     */
+    @DeleteMapping("/import/{jobId}")
+    public ResponseEntity<TransactionImportJobDTO> cancelImportJob(@PathVariable("jobId") String jobId) {
+        LOG.debug("REST request to cancel import job : {}", jobId);
+        return ResponseUtil.wrapOrNotFound(transactionService.cancelImport(jobId));
     }
 
     @PutMapping("/{id}")
@@ -237,12 +290,13 @@ public class TransactionResource {
     }
 
     @GetMapping("/export")
-    public ResponseEntity<byte[]> exportTransactions(
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
         @RequestParam(required = false) Long category,
         @RequestParam(required = false) String fromDate,
         @RequestParam(required = false) String toDate,
         @RequestParam(required = false) String type,
-        @RequestParam(required = false) String sort
+        @RequestParam(required = false) String sort,
+        HttpServletRequest request
     ) {
         LOG.debug(
             "REST request to export Transactions to PDF with filters: category={}, fromDate={}, toDate={}, type={}, sort={}",
@@ -263,27 +317,32 @@ public class TransactionResource {
             LOG.error("Invalid date format: fromDate={}, toDate={}", fromDate, toDate, e);
             return ResponseEntity.badRequest().build();
         }
-        List<Transaction> transactions = transactionQueryService.findByFilters(userId, category, from, to, type);
-        byte[] excelFile;
-        try {
-            excelFile = transactionQueryService.exportToExcel(userId, transactions, sort);
-        } catch (Exception e) {
-            LOG.error("Failed to generate Excel: {}", e.getMessage(), e);
-            return ResponseEntity.status(500).build();
-        }
+        Instant exportFrom = from;
+        Instant exportTo = to;
+        streamFor(request, exportSettings.getRequestTimeout());
+        // The workbook is written straight to the response, the first rows leave before the last ones are read
+        StreamingResponseBody body = outputStream -> {
+            try {
+                transactionQueryService.exportToExcel(userId, category, exportFrom, exportTo, type, sort, outputStream);
+            } catch (Exception e) {
+                LOG.error("Failed to generate Excel: {}", e.getMessage(), e);
+                throw e;
+            }
+        };
         HttpHeaders headers = new HttpHeaders();
         headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions.xlsx");
         headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-        return ResponseEntity.ok().headers(headers).body(excelFile);
+        return ResponseEntity.ok().headers(headers).body(body);
     }
 
     @GetMapping("/export-pdf")
-    public ResponseEntity<byte[]> exportTransactionsToPDF(
+    public ResponseEntity<StreamingResponseBody> exportTransactionsToPDF(
         @RequestParam(required = false) Long category,
         @RequestParam(required = false) String fromDate,
         @RequestParam(required = false) String toDate,
         @RequestParam(required = false) String type,
-        @RequestParam(defaultValue = "transactionDate,desc") String sort
+        @RequestParam(defaultValue = "transactionDate,desc") String sort,
+        HttpServletRequest request
     ) {
         LOG.debug(
             "REST request to export Transactions to PDF with filters: category={}, fromDate={}, toDate={}, type={}, sort={}",
@@ -304,17 +363,124 @@ public class TransactionResource {
             LOG.error("Invalid date format: fromDate={}, toDate={}", fromDate, toDate, e);
             return ResponseEntity.badRequest().build();
         }
-        List<Transaction> transactions = transactionQueryService.findByFilters(userId, category, from, to, type);
-        byte[] pdfFile;
+        Instant exportFrom = from;
+        Instant exportTo = to;
+        streamFor(request, exportSettings.getRequestTimeout());
+        // Pages are written straight to the response as the table is flushed
+        StreamingResponseBody body = outputStream -> {
+            try {
+                transactionQueryService.exportToPDF(userId, category, exportFrom, exportTo, type, sort, outputStream);
+            } catch (Exception e) {
+                LOG.error("Failed to generate PDF: {}", e.getMessage(), e);
+                throw e;
+            }
+        };
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions.pdf");
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    /**
+     * {@code POST  /transactions/export-jobs} : start exporting transactions to a file in the background.
+     *
+     * @param format "xlsx" or "pdf".
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and
+     *         the export job in body, or with status {@code 400 (Bad Request)}.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/export-jobs")
+    public ResponseEntity<TransactionExportJobDTO> startExportJob(
+        @RequestParam(defaultValue = "xlsx") String format,
+        @RequestParam(required = false) Long category,
+        @RequestParam(required = false) String fromDate,
+        @RequestParam(required = false) String toDate,
+        @RequestParam(required = false) String type,
+        @RequestParam(required = false) String sort
+    ) throws URISyntaxException {
+        LOG.debug(
+            "REST request to start an export job: format={}, category={}, fromDate={}, toDate={}, type={}, sort={}",
+            format,
+            category,
+            fromDate,
+            toDate,
+            type,
+            sort
+        );
+        Instant from;
+        Instant to;
         try {
-            pdfFile = transactionQueryService.exportToPDF(userId, transactions, sort);
+            from = parseToInstant(fromDate);
+            to = parseToInstant(toDate);
         } catch (Exception e) {
-            LOG.error("Failed to generate PDF: {}", e.getMessage(), e);
-            return ResponseEntity.status(500).build();
+            LOG.error("Invalid date format: fromDate={}, toDate={}", fromDate, toDate, e);
+            return ResponseEntity.badRequest().build();
         }
+        TransactionExportJobDTO job = transactionService.startExport(format, category, from, to, type, sort);
+        return ResponseEntity.accepted().location(new URI("/api/transactions/export-jobs/" + job.getJobId())).body(job);
+    }
+
+    /**
+     * {@code GET  /transactions/export-jobs/:jobId} : get the progress of an export job.
+     *
+     * @param jobId the id of the export job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         export job in body, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/export-jobs/{jobId}")
+    public ResponseEntity<TransactionExportJobDTO> getExportJob(@PathVariable("jobId") String jobId) {
+        LOG.debug("REST request to get export job : {}", jobId);
+        return ResponseUtil.wrapOrNotFound(transactionService.findExportJob(jobId));
+    }
+
+    /**
+     * {@code GET  /transactions/export-jobs/:jobId/file} : download the file of a completed export job.
+     *
+     * @param jobId the id of the export job.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the
+     *         file in body, or with status {@code 404 (Not Found)} while the job
+     *         is not completed or once its file has expired.
+     */
+    @GetMapping("/export-jobs/{jobId}/file")
+    public ResponseEntity<StreamingResponseBody> downloadExportFile(@PathVariable("jobId") String jobId, HttpServletRequest request) {
+        LOG.debug("REST request to download export job : {}", jobId);
+        Optional<Path> file = transactionService.findExportFile(jobId);
+        if (file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Path path = file.orElseThrow();
+        String fileName = path.getFileName().toString().endsWith(".pdf") ? "transactions.pdf" : "transactions.xlsx";
+        // Opened here so that a file expiring before the body is written is still readable
+        FileChannel channel;
+        long size;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            size = channel.size();
+        } catch (IOException e) {
+            LOG.warn("Export file of job {} is no longer available: {}", jobId, e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+        streamFor(request, exportSettings.getRequestTimeout());
+        StreamingResponseBody body = outputStream -> {
+            try (channel; WritableByteChannel target = Channels.newChannel(outputStream)) {
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        };
         HttpHeaders headers = new HttpHeaders();
-        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions.pdf");
-        headers.setContentType(MediaType.APPLICATION_PDF);
-        return ResponseEntity.ok().headers(headers).body(pdfFile);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName);
+        headers.setContentType(fileName.endsWith(".pdf") ? MediaType.APPLICATION_PDF : MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentLength(size);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    // A StreamingResponseBody otherwise gets the async timeout of the container and is cut off mid-file
+    private static void streamFor(HttpServletRequest request, Duration timeout) {
+        AsyncWebRequest asyncWebRequest = WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest();
+        if (asyncWebRequest != null) {
+            asyncWebRequest.setTimeout(timeout.toMillis());
+        }
     }
 }
@@ -11,6 +11,8 @@ export interface IBudget {
   createdAt?: dayjs.Dayjs | null;
   updatedAt?: dayjs.Dayjs | null;
   status?: keyof typeof BudgeStatus | null;
+  spentAmount?: number | null;
+  version?: number | null;
   category?: ICategory | null;
   user?: Pick<IUser, 'id' | 'login'> | null;
 }
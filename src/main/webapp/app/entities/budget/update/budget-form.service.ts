@@ -42,6 +42,7 @@ type BudgetFormGroupContent = {
   status: FormControl<BudgetFormRawValue['status']>;
   category: FormControl<BudgetFormRawValue['category']>;
   user: FormControl<BudgetFormRawValue['user']>;
+  version: FormControl<BudgetFormRawValue['version']>;
 };
 
 export type BudgetFormGroup = FormGroup<BudgetFormGroupContent>;
@@ -75,6 +76,7 @@ export class BudgetFormService {
       status: new FormControl(budgetRawValue.status),
       category: new FormControl(budgetRawValue.category),
       user: new FormControl(budgetRawValue.user),
+      version: new FormControl(budgetRawValue.version),
     });
   }
 
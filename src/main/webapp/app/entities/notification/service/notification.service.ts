@@ -1,6 +1,6 @@
 import { Injectable, inject } from '@angular/core';
-import { HttpClient, HttpResponse } from '@angular/common/http';
-import { Observable, map } from 'rxjs';
+import { HttpClient, HttpDownloadProgressEvent, HttpEventType, HttpResponse } from '@angular/common/http';
+import { Observable, defer, filter, map, mergeMap } from 'rxjs';
 
 import dayjs from 'dayjs/esm';
 
@@ -70,6 +70,53 @@ export class NotificationService {
     return this.http.get<INotification[]>(this.resourceUrl, { params, observe: 'response' });
   }
 
+  unreadCount(): Observable<number> {
+    return this.http.get<number>(`${this.resourceUrl}/unread-count`);
+  }
+
+  /**
+   * Mark notifications of the current user as read, at least one id is needed.
+   */
+  markRead(ids: number[]): Observable<number> {
+    return this.http.post<number>(`${this.resourceUrl}/mark-read`, ids);
+  }
+
+  markAllRead(): Observable<number> {
+    return this.http.post<number>(`${this.resourceUrl}/mark-all-read`, null);
+  }
+
+  /**
+   * Server-Sent Events of the new notifications of the current user, emitting the data of each
+   * `notification` event. It goes through HttpClient rather than EventSource so that the auth
+   * interceptor adds the token. Completes when the server closes the stream.
+   */
+  stream(): Observable<string> {
+    return defer(() => {
+      let parsed = 0;
+      return this.http
+        .get(`${this.resourceUrl}/stream`, {
+          headers: { Accept: 'text/event-stream' },
+          observe: 'events',
+          reportProgress: true,
+          responseType: 'text',
+        })
+        .pipe(
+          filter((event): event is HttpDownloadProgressEvent => event.type === HttpEventType.DownloadProgress),
+          mergeMap(event => {
+            const text = event.partialText ?? '';
+            const end = text.lastIndexOf('\n\n');
+            if (end < parsed) {
+              return [];
+            }
+            const blocks = text.substring(parsed, end).split('\n\n');
+            parsed = end + 2;
+            return blocks.map(block => this.parseServerSentEvent(block)).filter(event => event.name === 'notification');
+          }),
+          map(event => event.data),
+        );
+    });
+  }
+
   delete(id: number): Observable<HttpResponse<{}>> {
     return this.http.delete(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
@@ -104,6 +151,19 @@ export class NotificationService {
     return notificationCollection;
   }
 
+  protected parseServerSentEvent(block: string): { name: string; data: string } {
+    let name = 'message';
+    const data: string[] = [];
+    for (const line of block.split('\n')) {
+      if (line.startsWith('event:')) {
+        name = line.substring(6).trim();
+      } else if (line.startsWith('data:')) {
+        data.push(line.substring(5));
+      }
+    }
+    return { name, data: data.join('\n') };
+  }
+
   protected convertDateFromClient<T extends INotification | NewNotification | PartialUpdateNotification>(notification: T): RestOf<T> {
     return {
       ...notification,
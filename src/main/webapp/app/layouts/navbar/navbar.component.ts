@@ -1,6 +1,7 @@
 import { Component, OnInit, OnDestroy, inject, signal, effect } from '@angular/core';
 import { Router, RouterModule } from '@angular/router';
 import { TranslateService } from '@ngx-translate/core';
+import { Subscription, repeat, retry } from 'rxjs';
 
 import { StateStorageService } from 'app/core/auth/state-storage.service';
 import { NotificationService } from 'app/entities/notification/service/notification.service';
@@ -34,6 +35,7 @@ export default class NavbarComponent implements OnInit, OnDestroy {
   entitiesNavbarItems: NavbarItem[] = [];
   notifications = signal<INotification[]>([]);
   unreadNotifications = signal<INotification[]>([]);
+  unreadCount = signal(0);
   sortState = signal<{ predicate: string; order: 'asc' | 'desc' }>({ predicate: 'createdAt', order: 'desc' });
 
   private readonly loginService = inject(LoginService);
@@ -42,7 +44,7 @@ export default class NavbarComponent implements OnInit, OnDestroy {
   private readonly notificationService = inject(NotificationService);
   private readonly router = inject(Router);
 
-  private pollingInterval: any; // Biến lưu interval
+  private notificationStream?: Subscription; // Luồng thông báo mới từ server (SSE)
 
   constructor() {
     const { VERSION } = environment;
@@ -50,16 +52,17 @@ export default class NavbarComponent implements OnInit, OnDestroy {
       this.version = VERSION.toLowerCase().startsWith('v') ? VERSION : `v${VERSION}`;
     }
 
-    // Sử dụng effect để theo dõi trạng thái account và kích hoạt polling khi đã đăng nhập
+    // Sử dụng effect để theo dõi trạng thái account và mở luồng thông báo khi đã đăng nhập
     effect(() => {
       const currentAccount = this.account();
       if (currentAccount) {
-        this.startPolling(); // Bắt đầu polling khi đã đăng nhập
+        this.startNotificationStream(); // Nhận thông báo mới khi server gửi
         this.loadNotifications(); // Tải thông báo ngay lập tức
       } else {
-        this.stopPolling(); // Dừng polling khi đăng xuất
+        this.stopNotificationStream(); // Đóng luồng khi đăng xuất
         this.notifications.set([]); // Xóa danh sách thông báo
         this.unreadNotifications.set([]); // Xóa danh sách thông báo chưa đọc
+        this.unreadCount.set(0);
       }
     });
   }
@@ -70,23 +73,25 @@ export default class NavbarComponent implements OnInit, OnDestroy {
   }
 
   ngOnDestroy(): void {
-    // Dọn dẹp interval khi component bị hủy
-    this.stopPolling();
+    // Đóng luồng thông báo khi component bị hủy
+    this.stopNotificationStream();
   }
 
-  private startPolling(): void {
-    if (!this.pollingInterval) {
-      this.pollingInterval = setInterval(() => {
-        this.loadNotifications();
-      }, 30000); // 30s
+  private startNotificationStream(): void {
+    if (!this.notificationStream) {
+      this.notificationStream = this.notificationService
+        .stream()
+        .pipe(
+          repeat({ delay: 1000 }), // Server đóng luồng sau một thời gian, mở lại ngay
+          retry({ delay: 5000 }), // Mất kết nối, thử lại sau 5s
+        )
+        .subscribe(() => this.loadNotifications());
     }
   }
 
-  private stopPolling(): void {
-    if (this.pollingInterval) {
-      clearInterval(this.pollingInterval);
-      this.pollingInterval = null;
-    }
+  private stopNotificationStream(): void {
+    this.notificationStream?.unsubscribe();
+    this.notificationStream = undefined;
   }
 
   loadNotifications(): void {
@@ -102,6 +107,23 @@ export default class NavbarComponent implements OnInit, OnDestroy {
         console.error('Lỗi khi lấy thông báo:', err);
       },
     });
+    // Số thông báo chưa đọc lấy từ server, danh sách trên chỉ có trang đầu
+    this.notificationService.unreadCount().subscribe({
+      next: count => this.unreadCount.set(count),
+      error(err) {
+        console.error('Lỗi khi đếm thông báo chưa đọc:', err);
+      },
+    });
+  }
+
+  markAllRead(): void {
+    // Đánh dấu tất cả đã đọc bằng một request
+    this.notificationService.markAllRead().subscribe({
+      next: () => this.loadNotifications(),
+      error(err) {
+        console.error('Error marking notifications as read:', err);
+      },
+    });
   }
 
   handleNotificationClick(notification: INotification): void {
@@ -111,7 +133,7 @@ export default class NavbarComponent implements OnInit, OnDestroy {
     }
     if (!notification.isRead) {
       notification.isRead = true;
-      this.notificationService.update(notification).subscribe({
+      this.notificationService.markRead([notification.id]).subscribe({
         next: () => {
           // Cập nhật danh sách sau khi đánh dấu đã đọc
           this.loadNotifications();